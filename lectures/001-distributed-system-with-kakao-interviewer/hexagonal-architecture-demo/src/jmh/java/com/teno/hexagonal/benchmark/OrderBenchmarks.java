@@ -0,0 +1,39 @@
+package com.teno.hexagonal.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// 스레드 수마다 한 번씩 돌려서 results-t{스레드 수}.json 으로 남긴다. 커밋 간 비교는 같은 파일끼리 하면 된다.
+// jmh.profilers 에 gc 처럼 JMH 프로파일러 이름을 쉼표로 주면 함께 붙인다
+public class OrderBenchmarks {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("jmh.include", ".*Benchmark.*");
+        String[] threads = System.getProperty("jmh.threads", "1,4,16").split(",");
+        String profilers = System.getProperty("jmh.profilers", "");
+        Path results = Path.of(System.getProperty("jmh.results", "build/reports/jmh"));
+        Files.createDirectories(results);
+
+        for (String thread : threads) {
+            int count = Integer.parseInt(thread.trim());
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(count)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(results.resolve("results-t" + count + ".json").toString());
+            for (String profiler : profilers.split(",")) {
+                if (!profiler.isBlank()) {
+                    options.addProfiler(profiler.trim());
+                }
+            }
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.port.outbound.OrderVersionConflictException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 읽기 -> 사본 -> update(next, version) 재시도 루프의 처리량. 뜨거운 주문 수가 적을수록 충돌이 잦아진다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderContentionBenchmark {
+    @Param({"1", "16", "1024"})
+    int hotOrders;
+
+    private InMemoryOrderRepository repository;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Conflicts {
+        public long conflicts;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            conflicts = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        for (int i = 0; i < hotOrders; i++) {
+            repository.save(new Order(Integer.toString(i), "user-" + i, "product-" + i, 1_000));
+        }
+    }
+
+    @Benchmark
+    public Order versionedUpdate(Conflicts counters) {
+        String orderId = Integer.toString(ThreadLocalRandom.current().nextInt(hotOrders));
+        while (true) {
+            Order current = repository.findById(orderId);
+            try {
+                return repository.update(current.nextVersion(), current.getVersion());
+            } catch (OrderVersionConflictException e) {
+                counters.conflicts++;
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.inbound.http.CreateOrderRequest;
+import com.teno.hexagonal.adapter.inbound.http.IdempotencyProperties;
+import com.teno.hexagonal.adapter.inbound.http.IdempotencyStore;
+import com.teno.hexagonal.adapter.inbound.http.OrderController;
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.id.SnowflakeOrderIdGenerator;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGatewayProperties;
+import com.teno.hexagonal.adapter.outbound.payment.LatencyDistribution;
+import com.teno.hexagonal.application.AsyncOrderServiceImpl;
+import com.teno.hexagonal.application.OrderServiceImpl;
+import com.teno.hexagonal.application.PaymentExecutor;
+import com.teno.hexagonal.application.PaymentExecutorProperties;
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import com.teno.hexagonal.port.inbound.OrderResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 요청 본문 역직렬화 -> OrderController -> 응답 본문 직렬화까지 요청 하나가 할당하는 양을 잰다.
+// 소켓과 서블릿 디스패치는 빼고 애플리케이션이 책임지는 부분만 본다. -Djmh.profilers=gc 로 돌리면 gc.alloc.rate.norm 이 요청당 바이트다.
+// pay 는 대기 주문이 필요하므로 생성까지 포함해서 측정하고, create 와의 차이로 순수 비용을 본다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderControllerBenchmark {
+    private static final int USERS = 1_000;
+
+    private ObjectMapper objectMapper;
+    private OrderController controller;
+    private PaymentExecutor paymentExecutor;
+    private byte[][] createBodies;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakePaymentGatewayProperties properties = new FakePaymentGatewayProperties(LatencyDistribution.FIXED,
+                Duration.ZERO, 0.5, Duration.ZERO, 0, 0, 0, Duration.ofSeconds(5), 0, 1000, 42L);
+        FakePaymentGateway gateway = new FakePaymentGateway(properties);
+        paymentExecutor = new PaymentExecutor(new PaymentExecutorProperties(256));
+        OrderServiceImpl orderService = new OrderServiceImpl(new InMemoryOrderRepository(), gateway,
+                new SnowflakeOrderIdGenerator(0), paymentExecutor, event -> {
+        });
+        objectMapper = JsonMapper.builder().build();
+        controller = new OrderController(orderService, objectMapper,
+                new IdempotencyStore(new IdempotencyProperties(100_000, Duration.ofMinutes(10))),
+                new AsyncOrderServiceImpl(orderService, gateway, paymentExecutor, new OrderMetrics()));
+
+        createBodies = new byte[USERS][];
+        for (int i = 0; i < USERS; i++) {
+            createBodies[i] = """
+                    {"userId":"user-%d","productId":"product-%d","amount":%d}""".formatted(i, i % 100, 1_000 + i)
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        paymentExecutor.shutdown();
+    }
+
+    @Benchmark
+    public byte[] create() {
+        return objectMapper.writeValueAsBytes(createOrder().getBody());
+    }
+
+    @Benchmark
+    public byte[] createAndPay() {
+        OrderResult created = (OrderResult) createOrder().getBody();
+        ResponseEntity<?> paid = controller.processPayment(created.order().id(), false, null).join();
+        return objectMapper.writeValueAsBytes(paid.getBody());
+    }
+
+    private ResponseEntity<?> createOrder() {
+        byte[] body = createBodies[ThreadLocalRandom.current().nextInt(USERS)];
+        return controller.createOrder(objectMapper.readValue(body, CreateOrderRequest.class), null);
+    }
+}
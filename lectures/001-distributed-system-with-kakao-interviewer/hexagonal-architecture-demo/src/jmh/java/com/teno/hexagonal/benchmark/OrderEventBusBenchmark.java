@@ -0,0 +1,67 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.event.OrderEventBusProperties;
+import com.teno.hexagonal.adapter.outbound.event.RingBufferOrderEventBus;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderEvent;
+import com.teno.hexagonal.port.outbound.OrderEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 소비자 수에 따른 발행 처리량과 발행 지연 분포. 가장 느린 소비자가 버퍼를 비워야 발행이 진행되므로 소비 비용까지 포함된다.
+// SampleTime 은 버퍼가 차서 발행이 기다리는 꼬리(p99, p99.9)를 보여 준다
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderEventBusBenchmark {
+    @Param({"1", "4", "16"})
+    int consumers;
+
+    private RingBufferOrderEventBus bus;
+    private OrderEvent[] events;
+
+    @Setup
+    public void setUp() {
+        List<OrderEventListener> listeners = new ArrayList<>();
+        for (int i = 0; i < consumers; i++) {
+            listeners.add((event, endOfBatch) -> Blackhole.consumeCPU(10));
+        }
+        bus = new RingBufferOrderEventBus(listeners, new OrderEventBusProperties(4, 8192, 256, Duration.ofSeconds(1)));
+
+        events = new OrderEvent[1024];
+        for (int i = 0; i < events.length; i++) {
+            Order order = new Order(Integer.toString(i), "user-" + i, "product-" + i, 1_000);
+            events[i] = OrderEvent.of(OrderEvent.Type.CREATED, order);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bus.close();
+    }
+
+    @Benchmark
+    public void publish() {
+        bus.publish(events[ThreadLocalRandom.current().nextInt(events.length)]);
+    }
+}
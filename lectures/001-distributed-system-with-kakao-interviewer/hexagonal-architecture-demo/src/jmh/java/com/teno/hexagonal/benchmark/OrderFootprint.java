@@ -0,0 +1,108 @@
+package com.teno.hexagonal.benchmark;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.TierStats;
+import com.teno.hexagonal.adapter.outbound.database.TieredOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.TieredProperties;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.outbound.OrderRepository;
+import org.springframework.util.unit.DataSize;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JMH 로는 재기 어려운 "저장소가 힙을 얼마나 차지하고, 그 상태에서 GC 가 얼마나 멈추는가" 를 잰다.
+// 주문 N 건(90% 는 끝난 지 오래된 주문)을 채운 뒤 전체 GC 후 힙 사용량을 보고,
+// 그 상태로 새 주문 생성/조회/결제/삭제를 돌리는 동안의 정지 시간(동시 GC 제외)을 합친다. 저장소마다 JVM 을 따로 띄워서 비교한다
+public class OrderFootprint {
+    private static final int USERS = 10_000;
+    private static final int PRODUCTS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        String type = System.getProperty("footprint.repository", "memory");
+        int orders = Integer.getInteger("footprint.orders", 1_000_000);
+        int operations = Integer.getInteger("footprint.operations", 2_000_000);
+
+        OrderRepository repository = switch (type) {
+            case "memory" -> new InMemoryOrderRepository();
+            case "tiered" -> new TieredOrderRepository(
+                    new TieredProperties(Duration.ZERO, Duration.ofDays(1), DataSize.ofMegabytes(64)));
+            default -> throw new IllegalArgumentException("memory | tiered: " + type);
+        };
+
+        long started = System.nanoTime();
+        long old = System.currentTimeMillis() - Duration.ofHours(1).toMillis();
+        for (int i = 0; i < orders; i++) {
+            OrderStatus status = i % 10 == 0 ? OrderStatus.PENDING : i % 10 == 1 ? OrderStatus.FAILED : OrderStatus.PAID;
+            repository.save(Order.restore("order-" + i, "user-" + (i % USERS), "product-" + (i % PRODUCTS),
+                    1_000, status, old, old, status == OrderStatus.FAILED ? "잔액 부족" : null));
+        }
+        if (repository instanceof TieredOrderRepository tiered) {
+            tiered.demote();
+        }
+        long loadedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        System.gc();
+        System.gc();
+        long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+
+        PauseRecorder pauses = new PauseRecorder();
+        SplittableRandom random = new SplittableRandom(42);
+        started = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            String id = "new-" + i;
+            Order order = new Order(id, "user-" + (i % USERS), "product-" + (i % PRODUCTS), 1_000);
+            repository.save(order);
+            repository.findById("order-" + random.nextInt(orders));
+            Order paid = order.nextVersion();
+            paid.markAsPaid();
+            repository.update(paid, order.getVersion());
+            // 상주 주문 수를 N 으로 유지해야 정지 시간이 채워 둔 주문의 비용을 보여 준다
+            repository.delete(id);
+        }
+        long churnMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        System.out.printf("repository=%s orders=%d load=%dms%n", type, orders, loadedMillis);
+        System.out.printf("heapUsedAfterFullGc=%dMB (%d bytes/order)%n", heapUsed >> 20, heapUsed / orders);
+        if (repository instanceof TieredOrderRepository tiered) {
+            TierStats stats = tiered.stats();
+            System.out.printf("hot=%d cold=%d offHeap=%dMB coldLive=%dMB%n", stats.hotOrders(), stats.coldOrders(),
+                    stats.offHeapBytes() >> 20, stats.coldLiveBytes() >> 20);
+        }
+        System.out.printf("churn operations=%d time=%dms pauses=%d totalPause=%dms maxPause=%dms%n", operations,
+                churnMillis, pauses.count.get(), pauses.total.get(), pauses.max.get());
+        if (repository instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class PauseRecorder {
+        final AtomicLong count = new AtomicLong();
+        final AtomicLong total = new AtomicLong();
+        final AtomicLong max = new AtomicLong();
+
+        PauseRecorder() {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                ((NotificationEmitter) gc).addNotificationListener((notification, handback) -> {
+                    GarbageCollectionNotificationInfo info =
+                            GarbageCollectionNotificationInfo.from((CompositeData) notification.getUserData());
+                    // G1 Concurrent GC 는 애플리케이션과 함께 도는 시간이라 정지에서 뺀다
+                    if (info.getGcName().contains("Concurrent")) {
+                        return;
+                    }
+                    long duration = info.getGcInfo().getDuration();
+                    count.incrementAndGet();
+                    total.addAndGet(duration);
+                    max.accumulateAndGet(duration, Math::max);
+                }, null, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.id.SnowflakeOrderIdGenerator;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.application.OrderServiceImpl;
+import com.teno.hexagonal.application.PaymentExecutor;
+import com.teno.hexagonal.application.PaymentExecutorProperties;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 없는 주문 조회만 반복한다. stackTrace 는 예전처럼 매번 new RuntimeException 을 던지는 경로,
+// stackless 는 지금의 OrderService.getOrder 경로다. 실제 요청은 Tomcat/Spring 프레임 위에서 던지므로 호출 깊이를 바꿔 가며 잰다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderNotFoundBenchmark {
+    @Param({"10", "120"})
+    int stackDepth;
+
+    private InMemoryOrderRepository repository;
+    private OrderServiceImpl orderService;
+    private PaymentExecutor paymentExecutor;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        for (int i = 0; i < 1_000; i++) {
+            repository.save(new Order(Integer.toString(i), "user-" + i, "product-" + i, 1_000));
+        }
+        paymentExecutor = new PaymentExecutor(new PaymentExecutorProperties(16));
+        orderService = new OrderServiceImpl(repository, new FakePaymentGateway(), new SnowflakeOrderIdGenerator(0),
+                paymentExecutor, event -> {
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        paymentExecutor.shutdown();
+    }
+
+    @Benchmark
+    public String stackTrace() {
+        try {
+            return descend(stackDepth, true).getId();
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    @Benchmark
+    public String stackless() {
+        try {
+            return descend(stackDepth, false).getId();
+        } catch (OrderException e) {
+            return e.getMessage();
+        }
+    }
+
+    private Order descend(int depth, boolean fillStackTrace) {
+        if (depth > 0) {
+            return descend(depth - 1, fillStackTrace);
+        }
+        String missingId = "missing-" + ThreadLocalRandom.current().nextInt(1_000);
+        if (!fillStackTrace) {
+            return orderService.getOrder(missingId);
+        }
+        Order order = repository.findById(missingId);
+        if (order == null) {
+            throw new RuntimeException("주문을 찾을 수 없습니다");
+        }
+        return order;
+    }
+}
@@ -0,0 +1,100 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.database.CachingOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.OrderCacheProperties;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 보조 인덱스 조회와 findAll() 전체 스캔 후 필터링의 비교, 캐시를 거친 findById 의 적중 비용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderRepositoryBenchmark {
+    private static final int USERS = 1_000;
+    private static final int LIMIT = 100;
+
+    @Param({"1000", "100000"})
+    int storeSize;
+
+    private InMemoryOrderRepository repository;
+    private CachingOrderRepository cached;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < storeSize; i++) {
+            OrderStatus status = i % 10 == 0 ? OrderStatus.PAID : OrderStatus.PENDING;
+            repository.save(Order.restore(Integer.toString(i), "user-" + (i % USERS), "product-" + (i % 100),
+                    1_000, status, now + i, now + i, null));
+        }
+        cached = new CachingOrderRepository(repository, new OrderCacheProperties(true, storeSize));
+        for (int i = 0; i < storeSize; i++) {
+            cached.findById(Integer.toString(i));
+        }
+    }
+
+    @Benchmark
+    public Order byId() {
+        return repository.findById(randomId());
+    }
+
+    @Benchmark
+    public Order byIdCached() {
+        return cached.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Order> byUserIndex() {
+        return repository.findByUserId(randomUser(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Order> byUserScan() {
+        String userId = randomUser();
+        return repository.findAll().stream()
+                .filter(order -> order.getUserId().equals(userId))
+                .limit(LIMIT)
+                .toList();
+    }
+
+    @Benchmark
+    public List<Order> byStatusIndex() {
+        return repository.findByStatus(OrderStatus.PAID, LIMIT);
+    }
+
+    @Benchmark
+    public List<Order> byStatusScan() {
+        return repository.findAll().stream()
+                .filter(order -> order.getStatus() == OrderStatus.PAID)
+                .limit(LIMIT)
+                .toList();
+    }
+
+    private String randomId() {
+        return Integer.toString(ThreadLocalRandom.current().nextInt(storeSize));
+    }
+
+    private static String randomUser() {
+        return "user-" + ThreadLocalRandom.current().nextInt(USERS);
+    }
+}
@@ -0,0 +1,86 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 읽기 스레드 일곱과 쓰기 스레드 하나가 같은 저장소를 동시에 두드릴 때 각자의 처리량.
+// 쓰기는 생성 -> 결제 -> 삭제를 반복해 ID 맵과 보조 인덱스를 모두 바꾸고, 읽기는 그 인덱스를 조회한다.
+// 비대칭 그룹이므로 OrderBenchmarks 의 jmh.threads 는 그룹 크기(8)의 배수로 올림된다
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderRepositoryStressBenchmark {
+    private static final int USERS = 1_000;
+    private static final int LIMIT = 20;
+
+    @Param({"1000", "100000"})
+    int storeSize;
+
+    private InMemoryOrderRepository repository;
+    private final AtomicLong nextId = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        for (int i = 0; i < storeSize; i++) {
+            repository.save(new Order(Integer.toString(i), "user-" + (i % USERS), "product-" + (i % 100), 1_000));
+        }
+        nextId.set(storeSize);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public Order readById() {
+        return repository.findById(Integer.toString(ThreadLocalRandom.current().nextInt(storeSize)));
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(3)
+    public List<Order> readByUser() {
+        return repository.findByUserId("user-" + ThreadLocalRandom.current().nextInt(USERS), LIMIT);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public Order churn() {
+        String id = Long.toString(nextId.getAndIncrement());
+        Order order = repository.save(new Order(id, "user-" + ThreadLocalRandom.current().nextInt(USERS),
+                "product-1", 1_000));
+        Order paid = order.nextVersion();
+        paid.markAsPaid();
+        repository.update(paid, order.getVersion());
+        return repository.delete(id);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public List<Order> readByStatus() {
+        return repository.findByStatus(OrderStatus.PAID, LIMIT);
+    }
+}
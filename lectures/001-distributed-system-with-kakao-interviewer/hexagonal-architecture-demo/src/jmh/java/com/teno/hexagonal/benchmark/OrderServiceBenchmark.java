@@ -0,0 +1,106 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.id.SnowflakeOrderIdGenerator;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGatewayProperties;
+import com.teno.hexagonal.adapter.outbound.payment.LatencyDistribution;
+import com.teno.hexagonal.application.OrderServiceImpl;
+import com.teno.hexagonal.application.PaymentExecutor;
+import com.teno.hexagonal.application.PaymentExecutorProperties;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.port.inbound.OrderResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// HTTP 없이 OrderServiceImpl + InMemoryOrderRepository + FakePaymentGateway(지연 0, 실패 0) 만 측정한다.
+// pay / cancel 은 대기 주문이 필요하므로 생성까지 포함해서 측정하고, create 와의 차이로 순수 비용을 본다
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderServiceBenchmark {
+    private static final int USERS = 1_000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000", "100000"})
+    int storeSize;
+
+    private OrderServiceImpl orderService;
+    private PaymentExecutor paymentExecutor;
+    private String[] orderIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        FakePaymentGatewayProperties gateway = new FakePaymentGatewayProperties(LatencyDistribution.FIXED,
+                Duration.ZERO, 0.5, Duration.ZERO, 0, 0, 0, Duration.ofSeconds(5), 0, 1000, 42L);
+        paymentExecutor = new PaymentExecutor(new PaymentExecutorProperties(256));
+        orderService = new OrderServiceImpl(new InMemoryOrderRepository(), new FakePaymentGateway(gateway),
+                new SnowflakeOrderIdGenerator(0), paymentExecutor, event -> {
+        });
+
+        orderIds = new String[storeSize];
+        for (int i = 0; i < storeSize; i++) {
+            orderIds[i] = orderService.createOrder(user(i), "product-" + (i % 100), 1_000 + i % 10_000).order().id();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        paymentExecutor.shutdown();
+    }
+
+    @Benchmark
+    public OrderResult create() {
+        int i = ThreadLocalRandom.current().nextInt(USERS);
+        return orderService.createOrder(user(i), "product-" + (i % 100), 1_000);
+    }
+
+    @Benchmark
+    public Order get() {
+        return orderService.getOrder(orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)]);
+    }
+
+    @Benchmark
+    public OrderResult createAndPay() {
+        return orderService.processPayment(create().order().id());
+    }
+
+    @Benchmark
+    public OrderResult createAndCancel() {
+        return orderService.cancelOrder(create().order().id());
+    }
+
+    @Benchmark
+    public OrderPage listPage() {
+        String cursor = orderIds[ThreadLocalRandom.current().nextInt(orderIds.length)];
+        return orderService.getOrders(cursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object listByUser() {
+        return orderService.getOrdersByUser(user(ThreadLocalRandom.current().nextInt(USERS)), PAGE_SIZE);
+    }
+
+    private static String user(int i) {
+        return "user-" + (i % USERS);
+    }
+}
@@ -0,0 +1,84 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGatewayProperties;
+import com.teno.hexagonal.adapter.outbound.payment.LatencyDistribution;
+import com.teno.hexagonal.application.BatchingPaymentGateway;
+import com.teno.hexagonal.application.PaymentBatchProperties;
+import com.teno.hexagonal.application.PaymentBatchStats;
+import com.teno.hexagonal.application.metrics.LatencyHistogram;
+import com.teno.hexagonal.application.metrics.LatencySnapshot;
+
+import java.time.Duration;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 묶음 크기별 처리량과 지연의 교환 관계를 잰다. JMH 는 호출자 스레드 수만큼만 동시 요청을 만들 수 있어서,
+// 부하 생성기처럼 일정한 도착률(open-loop)로 결제를 넣고 "넣었어야 할" 시각부터 완료까지를 잰다.
+// 게이트웨이는 왕복 latency, 동시 호출 concurrency 개로 제한되므로 묶지 않으면 최대 concurrency / latency 건/초다
+public class PaymentBatchingSweep {
+
+    public static void main(String[] args) {
+        int rate = Integer.getInteger("batch.rate", 4_000);
+        Duration duration = Duration.parse(System.getProperty("batch.duration", "PT5S"));
+        Duration latency = Duration.parse(System.getProperty("batch.latency", "PT0.01S"));
+        Duration maxDelay = Duration.parse(System.getProperty("batch.maxDelay", "PT0.002S"));
+        int concurrency = Integer.getInteger("batch.concurrency", 8);
+        String[] sizes = System.getProperty("batch.sizes", "1,4,16,64,256").split(",");
+
+        System.out.printf("rate=%d/s duration=%s gateway latency=%s concurrency=%d maxDelay=%s%n",
+                rate, duration, latency, concurrency, maxDelay);
+        System.out.printf("%10s %12s %10s %10s %10s %10s %10s %10s%n",
+                "batchSize", "payments/s", "rejected", "avgBatch", "p50(us)", "p99(us)", "p999(us)", "max(us)");
+        for (String size : sizes) {
+            run(Integer.parseInt(size.trim()), rate, duration, latency, maxDelay, concurrency);
+        }
+    }
+
+    private static void run(int batchSize, int rate, Duration duration, Duration latency, Duration maxDelay,
+                            int concurrency) {
+        FakePaymentGateway fake = new FakePaymentGateway(new FakePaymentGatewayProperties(LatencyDistribution.FIXED,
+                latency, 0.5, Duration.ZERO, 0, 0, 0, Duration.ofSeconds(5), concurrency, 1_000, 42L));
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder rejected = new LongAdder();
+        Phaser outstanding = new Phaser(1);
+
+        PaymentBatchStats stats;
+        long elapsed;
+        try (BatchingPaymentGateway gateway = new BatchingPaymentGateway(fake,
+                new PaymentBatchProperties(true, batchSize, maxDelay, Duration.ofSeconds(5)))) {
+            long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+            long start = System.nanoTime();
+            long end = start + duration.toNanos();
+            for (long i = 0; ; i++) {
+                long intended = start + i * interval;
+                if (intended >= end) {
+                    break;
+                }
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                outstanding.register();
+                gateway.processPaymentAsync("order-" + i, 1_000).whenComplete((result, e) -> {
+                    if (e != null) {
+                        rejected.increment();
+                    } else {
+                        histogram.record(System.nanoTime() - intended);
+                    }
+                    outstanding.arriveAndDeregister();
+                });
+            }
+            outstanding.arriveAndAwaitAdvance();
+            elapsed = System.nanoTime() - start;
+            stats = gateway.stats();
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+        System.out.printf("%10d %12.0f %10d %10.1f %10d %10d %10d %10d%n", batchSize,
+                snapshot.count() / (elapsed / 1e9), rejected.sum(), stats.averageBatchSize(),
+                snapshot.p50Micros(), snapshot.p99Micros(), snapshot.p999Micros(), snapshot.maxMicros());
+    }
+}
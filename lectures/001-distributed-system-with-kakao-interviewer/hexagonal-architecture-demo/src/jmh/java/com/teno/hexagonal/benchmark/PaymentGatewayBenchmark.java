@@ -0,0 +1,64 @@
+package com.teno.hexagonal.benchmark;
+
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGatewayProperties;
+import com.teno.hexagonal.adapter.outbound.payment.LatencyDistribution;
+import com.teno.hexagonal.adapter.outbound.payment.ResilienceProperties;
+import com.teno.hexagonal.adapter.outbound.payment.ResilientPaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 지연 0 인 게이트웨이를 그대로 부를 때와 서킷 브레이커/벌크헤드/타임아웃을 거칠 때의 오버헤드 비교
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PaymentGatewayBenchmark {
+    private PaymentGateway direct;
+    private ResilientPaymentGateway resilient;
+
+    @Setup
+    public void setUp() {
+        FakePaymentGatewayProperties properties = new FakePaymentGatewayProperties(LatencyDistribution.FIXED,
+                Duration.ZERO, 0.5, Duration.ZERO, 0, 0, 0, Duration.ofSeconds(5), 0, 1000, 42L);
+        direct = new FakePaymentGateway(properties);
+        resilient = new ResilientPaymentGateway(new FakePaymentGateway(properties), new ResilienceProperties(true,
+                Duration.ofSeconds(2), 10_000, 0.5, 20, 10, Duration.ofSeconds(1), Duration.ofSeconds(5)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        resilient.close();
+    }
+
+    @Benchmark
+    public Map<String, Object> direct() {
+        return direct.processPayment(orderId(), 1_000);
+    }
+
+    @Benchmark
+    public Map<String, Object> resilient() {
+        return resilient.processPayment(orderId(), 1_000);
+    }
+
+    private static String orderId() {
+        return Long.toString(ThreadLocalRandom.current().nextLong(1_000_000));
+    }
+}
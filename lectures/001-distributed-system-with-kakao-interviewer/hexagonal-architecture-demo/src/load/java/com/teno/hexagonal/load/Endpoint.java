@@ -0,0 +1,25 @@
+package com.teno.hexagonal.load;
+
+import java.util.Locale;
+
+enum Endpoint {
+    CREATE("POST /"),
+    GET("GET /{id}"),
+    PAY("POST /{id}/pay"),
+    CANCEL("POST /{id}/cancel"),
+    REFUND("POST /{id}/refund");
+
+    private final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+
+    static Endpoint from(String name) {
+        return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,232 @@
+package com.teno.hexagonal.load;
+
+import com.teno.hexagonal.HexagonalArchitectureDemoApplication;
+import com.teno.hexagonal.application.metrics.LatencyHistogram;
+import com.teno.hexagonal.application.metrics.LatencySnapshot;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// 앱을 임의 포트로 띄우고 일정한 도착률(open-loop)로 요청을 보낸다.
+// 지연은 실제 전송 시각이 아니라 "보냈어야 할" 시각부터 재므로, 서버가 밀려도 coordinated omission 이 생기지 않는다
+public class OrderLoadGenerator {
+    private static final Pattern ORDER_ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+    private static final int PARTIAL_REFUND = 500;
+    private static final int RECENT_IDS = 1 << 16;
+    private static final int SEED_ORDERS = 1_000;
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<Endpoint, LatencyHistogram> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> skipped = new EnumMap<>(Endpoint.class);
+    private final Queue<String> pendingOrders = new ConcurrentLinkedQueue<>();
+    private final Queue<String> paidOrders = new ConcurrentLinkedQueue<>();
+    private final AtomicReferenceArray<String> recentOrders = new AtomicReferenceArray<>(RECENT_IDS);
+    private final AtomicLong createdOrders = new AtomicLong();
+
+    OrderLoadGenerator(HttpClient client, int port) {
+        this.client = client;
+        this.baseUrl = "http://localhost:" + port;
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new LatencyHistogram());
+            errors.put(endpoint, new LongAdder());
+            skipped.put(endpoint, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int rate = Integer.getInteger("load.rate", 500);
+        Duration duration = Duration.parse(System.getProperty("load.duration", "PT30S"));
+        Duration warmup = Duration.parse(System.getProperty("load.warmup", "PT5S"));
+        Map<Endpoint, Integer> mix = parseMix(System.getProperty("load.mix", "create=40,get=40,pay=10,cancel=10"));
+
+        // 나머지 인자는 그대로 앱 설정으로 넘긴다. 포트는 항상 임의로 잡는다
+        String[] appArgs = Arrays.copyOf(args, args.length + 1);
+        appArgs[args.length] = "--server.port=0";
+
+        try (ConfigurableApplicationContext context = SpringApplication.run(
+                HexagonalArchitectureDemoApplication.class, appArgs);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            HttpClient client = HttpClient.newBuilder().executor(executor).build();
+            OrderLoadGenerator generator = new OrderLoadGenerator(client, port);
+
+            generator.seed();
+            generator.run(executor, rate, warmup, duration, mix);
+            System.out.printf("%nprofiles=%s virtualThreads=%s%n",
+                    Arrays.toString(context.getEnvironment().getActiveProfiles()),
+                    context.getEnvironment().getProperty("spring.threads.virtual.enabled", "false"));
+            generator.report(duration);
+        }
+    }
+
+    private void seed() {
+        for (int i = 0; i < SEED_ORDERS; i++) {
+            send(Endpoint.CREATE, System.nanoTime(), false);
+        }
+    }
+
+    private void run(ExecutorService executor, int rate, Duration warmup, Duration duration, Map<Endpoint, Integer> mix)
+            throws InterruptedException {
+        Endpoint[] schedule = weightedSchedule(mix);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        for (long i = 0; ; i++) {
+            long intended = start + i * interval;
+            if (intended >= end) {
+                break;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            boolean measured = intended >= measureFrom;
+            executor.execute(() -> send(endpoint, intended, measured));
+        }
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+
+    private void send(Endpoint endpoint, long intended, boolean measured) {
+        HttpRequest request = request(endpoint);
+        if (request == null) {
+            if (measured) {
+                skipped.get(endpoint).increment();
+            }
+            return;
+        }
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() >= 400 && measured) {
+                errors.get(endpoint).increment();
+            }
+            if (endpoint == Endpoint.CREATE && response.statusCode() == 201) {
+                remember(response.body());
+            }
+            if (endpoint == Endpoint.PAY && response.statusCode() == 200) {
+                rememberPaid(response.body());
+            }
+        } catch (Exception e) {
+            if (measured) {
+                errors.get(endpoint).increment();
+            }
+        } finally {
+            if (measured) {
+                latencies.get(endpoint).record(System.nanoTime() - intended);
+            }
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) {
+        return switch (endpoint) {
+            case CREATE -> post("/", """
+                    {"userId":"user-%d","productId":"product-%d","amount":%d}""".formatted(
+                    ThreadLocalRandom.current().nextInt(1_000), ThreadLocalRandom.current().nextInt(100),
+                    1_000 + ThreadLocalRandom.current().nextInt(10_000)));
+            case GET -> {
+                long created = createdOrders.get();
+                String orderId = created == 0 ? null
+                        : recentOrders.get((int) (ThreadLocalRandom.current().nextLong(Math.min(created, RECENT_IDS))));
+                yield orderId == null ? null : HttpRequest.newBuilder(URI.create(baseUrl + "/" + orderId)).GET().build();
+            }
+            case PAY, CANCEL -> {
+                String orderId = pendingOrders.poll();
+                yield orderId == null ? null
+                        : post("/" + orderId + (endpoint == Endpoint.PAY ? "/pay" : "/cancel"), "");
+            }
+            // 절반은 일부 금액만, 절반은 남은 금액 전부를 환불한다
+            case REFUND -> {
+                String orderId = paidOrders.poll();
+                String body = ThreadLocalRandom.current().nextBoolean() ? "{\"amount\":" + PARTIAL_REFUND + "}" : "{}";
+                yield orderId == null ? null : post("/" + orderId + "/refund", body);
+            }
+        };
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private void remember(String body) {
+        Matcher matcher = ORDER_ID.matcher(body);
+        if (matcher.find()) {
+            String orderId = matcher.group(1);
+            pendingOrders.add(orderId);
+            recentOrders.set((int) (createdOrders.getAndIncrement() & (RECENT_IDS - 1)), orderId);
+        }
+    }
+
+    // 결제된 주문은 한 번씩만 환불한다
+    private void rememberPaid(String body) {
+        Matcher matcher = ORDER_ID.matcher(body);
+        if (matcher.find()) {
+            paidOrders.add(matcher.group(1));
+        }
+    }
+
+    private void report(Duration duration) {
+        double seconds = duration.toMillis() / 1_000.0;
+        System.out.printf("%n%-20s %10s %10s %8s %8s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "errors", "skipped", "p50(us)", "p99(us)", "p999(us)", "max(us)");
+        for (Endpoint endpoint : Endpoint.values()) {
+            LatencySnapshot snapshot = latencies.get(endpoint).snapshot();
+            System.out.printf("%-20s %10d %10.1f %8d %8d %10d %10d %10d %10d%n",
+                    endpoint.label(), snapshot.count(), snapshot.count() / seconds,
+                    errors.get(endpoint).sum(), skipped.get(endpoint).sum(),
+                    snapshot.p50Micros(), snapshot.p99Micros(), snapshot.p999Micros(), snapshot.maxMicros());
+        }
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            String[] pair = entry.split("=");
+            mix.put(Endpoint.from(pair[0]), Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    // 가중치만큼 엔드포인트를 채운 배열에서 균등하게 고르면 비율대로 섞인다
+    private static Endpoint[] weightedSchedule(Map<Endpoint, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (total <= 0) {
+            throw new IllegalArgumentException("요청 비율의 합은 0보다 커야 합니다");
+        }
+        Endpoint[] schedule = new Endpoint[total];
+        int index = 0;
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[index++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+}
@@ -0,0 +1,13 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.port.inbound.CreateOrderCommand;
+
+public record CreateOrderRequest(String userId, String productId, Integer amount) {
+    public int amountOrZero() {
+        return amount != null ? amount : 0;
+    }
+
+    public CreateOrderCommand toCommand() {
+        return new CreateOrderCommand(userId, productId, amountOrZero());
+    }
+}
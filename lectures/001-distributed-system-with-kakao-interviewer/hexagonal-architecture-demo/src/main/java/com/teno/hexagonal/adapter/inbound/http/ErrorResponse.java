@@ -0,0 +1,14 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ErrorResponse(boolean success, String error, String code) {
+    public static ErrorResponse of(Exception e) {
+        return new ErrorResponse(false, e.getMessage(), null);
+    }
+
+    public static ErrorResponse of(Exception e, String code) {
+        return new ErrorResponse(false, e.getMessage(), code);
+    }
+}
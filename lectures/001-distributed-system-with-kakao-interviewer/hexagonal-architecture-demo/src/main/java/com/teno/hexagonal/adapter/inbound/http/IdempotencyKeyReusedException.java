@@ -0,0 +1,8 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+// 이미 쓴 Idempotency-Key 를 다른 메서드, 경로, 본문의 요청에 다시 쓴 경우. 앞선 응답을 돌려주면 엉뚱한 결과가 되므로 실행하지 않는다
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("다른 요청에 이미 사용한 Idempotency-Key 입니다: " + key);
+    }
+}
@@ -0,0 +1,13 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("order.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") long maximumSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
@@ -0,0 +1,4 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+public record IdempotencyStats(long keys, long inFlight, long executions, long replays, long mismatches) {
+}
@@ -0,0 +1,187 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.teno.hexagonal.domain.OrderErrorCode;
+import com.teno.hexagonal.domain.OrderException;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Idempotency-Key 별로 첫 실행의 응답(진행 중이면 그 Future)과 요청 지문(메서드, 경로, 본문의 해시)을 보관한다.
+// 같은 키로 동시에 들어온 요청은 먼저 자리를 잡은 실행을 기다렸다가 같은 응답을 받고,
+// 같은 키로 다른 요청이 오면 실행하지 않고 거절한다.
+// 끝난 실행은 크기와 만료 시간이 정해진 Caffeine 캐시에 두어 부하가 계속되어도 메모리가 늘어나지 않는다.
+// 진행 중인 실행은 별도 맵에 두어 캐시 축출로 사라지지 않게 한다. 이 맵은 동시 요청 수만큼만 자란다
+public class IdempotencyStore {
+    public static final String HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    // 게이트웨이 시간 초과나 오류로 난 실패, 다른 요청이 아직 결제 중인 경우. 다시 보내면 결과가 달라질 수 있다
+    private static final Set<OrderErrorCode> TRANSIENT_ERRORS =
+            EnumSet.of(OrderErrorCode.PAYMENT_FAILED, OrderErrorCode.REFUND_FAILED, OrderErrorCode.PAYMENT_IN_PROGRESS);
+
+    private final ConcurrentMap<String, Execution> completed;
+    private final ConcurrentMap<String, Execution> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder replays = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+
+    public IdempotencyStore(IdempotencyProperties properties) {
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.ttl())
+                .<String, Execution>build()
+                .asMap();
+    }
+
+    // 지문은 키가 있을 때만 계산하므로, 본문 직렬화 같은 비용을 Supplier 로 미룬다
+    public ResponseEntity<?> execute(String key, Supplier<String> fingerprint, Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        Execution execution = new Execution(fingerprint.get(), new CompletableFuture<>());
+        Execution previous = claim(key, execution);
+        if (previous != null) {
+            return replay(previous.response());
+        }
+
+        executions.increment();
+        ResponseEntity<?> response = null;
+        Throwable failure = null;
+        try {
+            response = action.get();
+            return response;
+        } catch (RuntimeException | Error e) {
+            failure = e;
+            throw e;
+        } finally {
+            // Error 로 끝나도 진행 중 자리를 비워야 같은 키의 요청이 영원히 기다리지 않는다
+            finish(key, execution, response, failure);
+        }
+    }
+
+    // 비동기 컨트롤러용. 같은 키의 뒤따른 요청도 앞선 실행을 스레드로 기다리지 않고 Future 로 이어 붙는다
+    public CompletableFuture<ResponseEntity<?>> executeAsync(String key, Supplier<String> fingerprint,
+                                                             Supplier<CompletableFuture<ResponseEntity<?>>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        Execution execution = new Execution(fingerprint.get(), new CompletableFuture<>());
+        Execution previous = claim(key, execution);
+        if (previous != null) {
+            return previous.response().thenApply(IdempotencyStore::replayed);
+        }
+
+        executions.increment();
+        CompletableFuture<ResponseEntity<?>> started;
+        try {
+            started = action.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        } catch (Error e) {
+            finish(key, execution, null, e);
+            throw e;
+        }
+        started.whenComplete((response, e) -> finish(key, execution, response,
+                e instanceof CompletionException && e.getCause() != null ? e.getCause() : e));
+        return execution.response();
+    }
+
+    public IdempotencyStats stats() {
+        return new IdempotencyStats(completed.size(), inFlight.size(), executions.sum(), replays.sum(), mismatches.sum());
+    }
+
+    public static String fingerprint(String method, String path, byte[] body) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        // 구분자를 넣어 경로와 본문의 경계가 달라도 같은 해시가 나오지 않게 한다
+        digest.update(method.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(path.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(body);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // 새로 자리를 잡았으면 null, 아니면 따라야 할 앞선 실행을 돌려준다
+    private Execution claim(String key, Execution execution) {
+        Execution previous = completed.get(key);
+        if (previous == null) {
+            previous = inFlight.putIfAbsent(key, execution);
+        }
+        if (previous == null) {
+            // 캐시를 본 뒤 자리를 잡기 전에 앞선 실행이 끝났을 수 있다. 끝난 실행은 캐시에 먼저 들어가므로 한 번 더 본다
+            previous = completed.get(key);
+            if (previous == null) {
+                return null;
+            }
+            inFlight.remove(key, execution);
+            previous.response().whenComplete((response, e) -> {
+                if (e != null) {
+                    execution.response().completeExceptionally(e);
+                } else {
+                    execution.response().complete(response);
+                }
+            });
+        }
+        if (!previous.fingerprint().equals(execution.fingerprint())) {
+            mismatches.increment();
+            throw new IdempotencyKeyReusedException(key);
+        }
+        replays.increment();
+        return previous;
+    }
+
+    private void finish(String key, Execution execution, ResponseEntity<?> response, Throwable failure) {
+        // 주문 없음, 결제 거절 같은 결과는 다시 시도해도 같으므로 그대로 기억해 두었다가 다시 던진다.
+        // 결제 게이트웨이 일시 장애처럼 다시 시도하면 성공할 수 있는 실패는 기억하지 않는다.
+        // 캐시에 먼저 넣고 진행 중 자리를 비워야 그 사이에 온 요청이 두 번째 실행을 시작하지 않는다
+        if (failure == null || failure instanceof OrderException e && !TRANSIENT_ERRORS.contains(e.getCode())) {
+            completed.put(key, execution);
+        }
+        inFlight.remove(key, execution);
+        if (failure == null) {
+            execution.response().complete(response);
+        } else {
+            // 이미 기다리던 요청에는 같은 예외를 준다
+            execution.response().completeExceptionally(failure);
+        }
+    }
+
+    private static ResponseEntity<?> replay(CompletableFuture<ResponseEntity<?>> execution) {
+        ResponseEntity<?> response;
+        try {
+            response = execution.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return replayed(response);
+    }
+
+    private static ResponseEntity<?> replayed(ResponseEntity<?> response) {
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+    }
+
+    private record Execution(String fingerprint, CompletableFuture<ResponseEntity<?>> response) {
+    }
+}
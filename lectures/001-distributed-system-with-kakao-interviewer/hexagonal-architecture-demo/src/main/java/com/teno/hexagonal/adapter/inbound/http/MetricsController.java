@@ -0,0 +1,23 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/metrics")
+@RequiredArgsConstructor
+public class MetricsController {
+    private final OrderMetrics orderMetrics;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getMetrics() {
+        return ResponseEntity.status(HttpStatus.OK).body(orderMetrics.snapshot());
+    }
+}
@@ -1,93 +1,143 @@
 package com.teno.hexagonal.adapter.inbound.http;
 
 import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.inbound.AsyncOrderService;
+import com.teno.hexagonal.port.inbound.BatchOrderResult;
+import com.teno.hexagonal.port.inbound.CreateOrderCommand;
 import com.teno.hexagonal.port.inbound.OrderService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.ObjectMapper;
 
-import java.util.HashMap;
+import java.time.Instant;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/")
 @RequiredArgsConstructor
 public class OrderController {
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int STREAM_PAGE_SIZE = 500;
+    private static final int DEFAULT_QUERY_LIMIT = 100;
+
     private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final AsyncOrderService asyncOrderService;
 
     @PostMapping
-    public ResponseEntity<Map<String, Object>> createOrder(@RequestBody Map<String, Object> body) {
-        try {
-            String userId = (String) body.get("userId");
-            String productId = (String) body.get("productId");
-            int amount = (int) body.get("amount");
-            Map<String, Object> result = orderService.createOrder(userId, productId, amount);
-            return ResponseEntity.status(HttpStatus.CREATED).body(result);
-        } catch (Exception e) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
-        }
+    public ResponseEntity<?> createOrder(@RequestBody CreateOrderRequest body,
+                                         @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.execute(idempotencyKey, fingerprint("/", body), () -> ResponseEntity.status(HttpStatus.CREATED)
+                .body(orderService.createOrder(body.userId(), body.productId(), body.amountOrZero())));
+    }
+
+    @PostMapping("batch")
+    public ResponseEntity<?> createOrders(@RequestBody List<CreateOrderRequest> body) {
+        List<CreateOrderCommand> commands = body.stream()
+                .map(request -> request == null ? null : request.toCommand())
+                .toList();
+        BatchOrderResult result = orderService.createOrders(commands);
+        return ResponseEntity.status(result.success() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS).body(result);
     }
 
     @GetMapping("{id}")
-    public ResponseEntity<Map<String, Object>> getOrder(@PathVariable String id) {
-        try {
-            Order order = orderService.getOrder(id);
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("order", order);
-            return ResponseEntity.status(HttpStatus.OK).body(result);
-        } catch (Exception e) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(result);
-        }
+    public ResponseEntity<?> getOrder(@PathVariable String id) {
+        return ResponseEntity.status(HttpStatus.OK).body(OrderResponse.of(orderService.getOrder(id)));
     }
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAllOrders() {
-        try {
-            List<Order> orders = orderService.getAllOrders();
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", true);
-            result.put("orders", orders);
-            return ResponseEntity.status(HttpStatus.OK).body(result);
-        } catch (Exception e) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);
+    public ResponseEntity<?> getAllOrders(@RequestParam(required = false) String cursor,
+                                          @RequestParam(required = false) Integer limit) {
+        if (cursor == null && limit == null) {
+            return ResponseEntity.status(HttpStatus.OK).body(OrderListResponse.of(orderService.getAllOrders()));
         }
+        OrderPage page = orderService.getOrders(cursor, limit != null ? limit : STREAM_PAGE_SIZE);
+        return ResponseEntity.status(HttpStatus.OK).body(OrderPageResponse.of(page));
+    }
+
+    @GetMapping("users/{userId}")
+    public ResponseEntity<?> getOrdersByUser(@PathVariable String userId,
+                                             @RequestParam(defaultValue = "" + DEFAULT_QUERY_LIMIT) int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(OrderListResponse.of(orderService.getOrdersByUser(userId, limit)));
+    }
+
+    @GetMapping("status/{status}")
+    public ResponseEntity<?> getOrdersByStatus(@PathVariable OrderStatus status,
+                                               @RequestParam(defaultValue = "" + DEFAULT_QUERY_LIMIT) int limit) {
+        return ResponseEntity.status(HttpStatus.OK).body(OrderListResponse.of(orderService.getOrdersByStatus(status, limit)));
+    }
+
+    @GetMapping("created")
+    public ResponseEntity<?> getOrdersCreatedBetween(@RequestParam Instant from,
+                                                     @RequestParam(required = false) Instant to,
+                                                     @RequestParam(defaultValue = "" + DEFAULT_QUERY_LIMIT) int limit) {
+        long toMillis = to != null ? to.toEpochMilli() : System.currentTimeMillis() + 1;
+        return ResponseEntity.status(HttpStatus.OK)
+                .body(OrderListResponse.of(orderService.getOrdersCreatedBetween(from.toEpochMilli(), toMillis, limit)));
     }
 
+    @GetMapping("stream")
+    public ResponseEntity<StreamingResponseBody> streamOrders() {
+        StreamingResponseBody body = out -> {
+            String cursor = null;
+            do {
+                OrderPage page = orderService.getOrders(cursor, STREAM_PAGE_SIZE);
+                for (Order order : page.orders()) {
+                    out.write(objectMapper.writeValueAsBytes(OrderView.of(order)));
+                    out.write('\n');
+                }
+                out.flush();
+                cursor = page.nextCursor();
+            } while (cursor != null);
+        };
+        return ResponseEntity.status(HttpStatus.OK).contentType(APPLICATION_NDJSON).body(body);
+    }
+
+    // 게이트웨이 응답을 기다리는 동안 요청 스레드를 돌려주도록 Future 를 반환한다(서블릿 비동기 처리)
     @PostMapping("{id}/pay")
-    public ResponseEntity<Map<String, Object>> processPayment(@PathVariable String id) {
-        try {
-            Map<String, Object> result = orderService.processPayment(id);
-            return ResponseEntity.status(HttpStatus.OK).body(result);
-        } catch (Exception e) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
-        }
+    public CompletableFuture<ResponseEntity<?>> processPayment(@PathVariable String id,
+                                                               @RequestParam(defaultValue = "false") boolean async,
+                                                               @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        return idempotencyStore.executeAsync(idempotencyKey, fingerprint("/" + id + "/pay?async=" + async, null), () -> {
+            if (async) {
+                return CompletableFuture.completedFuture(
+                        ResponseEntity.status(HttpStatus.ACCEPTED).body(orderService.submitPayment(id)));
+            }
+            return asyncOrderService.processPayment(id)
+                    .thenApply(result -> ResponseEntity.status(HttpStatus.OK).body(result));
+        });
+    }
+
+    @PostMapping("{id}/refund")
+    public ResponseEntity<?> refundOrder(@PathVariable String id,
+                                         @RequestBody(required = false) RefundRequest body,
+                                         @RequestHeader(name = IdempotencyStore.HEADER, required = false) String idempotencyKey) {
+        Integer amount = body != null ? body.amount() : null;
+        return idempotencyStore.execute(idempotencyKey, fingerprint("/" + id + "/refund", body),
+                () -> ResponseEntity.status(HttpStatus.OK).body(orderService.refundOrder(id, amount)));
+    }
+
+    @GetMapping("{id}/payment")
+    public ResponseEntity<?> getPaymentStatus(@PathVariable String id) {
+        return ResponseEntity.status(HttpStatus.OK).body(orderService.getPaymentStatus(id));
     }
 
     @PostMapping("{id}/cancel")
-    public ResponseEntity<Map<String, Object>> cancelOrder(@PathVariable String id) {
-        try {
-            Map<String, Object> result = orderService.cancelOrder(id);
-            return ResponseEntity.status(HttpStatus.OK).body(result);
-        } catch (Exception e) {
-            Map<String, Object> result = new HashMap<>();
-            result.put("success", false);
-            result.put("error", e.getMessage());
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(result);
-        }
+    public ResponseEntity<?> cancelOrder(@PathVariable String id) {
+        return ResponseEntity.status(HttpStatus.OK).body(orderService.cancelOrder(id));
+    }
+
+    // 멱등 처리하는 요청은 모두 POST 다. 본문은 받은 바이트가 아니라 읽어 들인 값을 다시 직렬화해서 해시하므로 공백 차이는 무시된다
+    private Supplier<String> fingerprint(String path, Object body) {
+        return () -> IdempotencyStore.fingerprint("POST", path, objectMapper.writeValueAsBytes(body));
     }
 }
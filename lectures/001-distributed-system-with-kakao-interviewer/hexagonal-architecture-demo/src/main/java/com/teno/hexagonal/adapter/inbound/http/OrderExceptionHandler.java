@@ -0,0 +1,45 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.domain.OrderErrorCode;
+import com.teno.hexagonal.domain.OrderException;
+import com.teno.hexagonal.port.outbound.OrderVersionConflictException;
+import com.teno.hexagonal.port.outbound.PaymentUnavailableException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class OrderExceptionHandler {
+
+    @ExceptionHandler(OrderException.class)
+    public ResponseEntity<ErrorResponse> handleOrderException(OrderException e) {
+        return ResponseEntity.status(status(e.getCode())).body(ErrorResponse.of(e, e.getCode().name()));
+    }
+
+    // 아래 두 예외는 다시 시도하면 성공할 수 있다
+    @ExceptionHandler(PaymentUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handlePaymentUnavailable(PaymentUnavailableException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ErrorResponse.of(e, "PAYMENT_UNAVAILABLE"));
+    }
+
+    @ExceptionHandler(OrderVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflict(OrderVersionConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(ErrorResponse.of(e, "CONCURRENT_MODIFICATION"));
+    }
+
+    @ExceptionHandler(IdempotencyKeyReusedException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyReused(IdempotencyKeyReusedException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_CONTENT).body(ErrorResponse.of(e, "IDEMPOTENCY_KEY_REUSED"));
+    }
+
+    static HttpStatus status(OrderErrorCode code) {
+        return switch (code) {
+            case ORDER_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case INVALID_REQUEST -> HttpStatus.BAD_REQUEST;
+            case INVALID_STATE, PAYMENT_IN_PROGRESS, PAYMENT_REFUNDED, REFUND_REJECTED -> HttpStatus.CONFLICT;
+            case PAYMENT_DECLINED -> HttpStatus.PAYMENT_REQUIRED;
+            case PAYMENT_FAILED, REFUND_FAILED -> HttpStatus.BAD_GATEWAY;
+        };
+    }
+}
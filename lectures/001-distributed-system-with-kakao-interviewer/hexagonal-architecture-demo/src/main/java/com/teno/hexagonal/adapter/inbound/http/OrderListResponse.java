@@ -0,0 +1,11 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.domain.Order;
+
+import java.util.List;
+
+public record OrderListResponse(boolean success, List<OrderView> orders) {
+    public static OrderListResponse of(List<Order> orders) {
+        return new OrderListResponse(true, OrderView.of(orders));
+    }
+}
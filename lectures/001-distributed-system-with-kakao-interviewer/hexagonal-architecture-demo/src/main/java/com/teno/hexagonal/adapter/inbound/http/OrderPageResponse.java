@@ -0,0 +1,11 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.domain.OrderPage;
+
+import java.util.List;
+
+public record OrderPageResponse(boolean success, List<OrderView> orders, String nextCursor) {
+    public static OrderPageResponse of(OrderPage page) {
+        return new OrderPageResponse(true, OrderView.of(page.orders()), page.nextCursor());
+    }
+}
@@ -0,0 +1,9 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.domain.Order;
+
+public record OrderResponse(boolean success, OrderView order) {
+    public static OrderResponse of(Order order) {
+        return new OrderResponse(true, OrderView.of(order));
+    }
+}
@@ -0,0 +1,22 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.domain.Order;
+
+import java.util.Date;
+import java.util.List;
+
+// 응답에 싣는 주문. 낙관적 잠금용 version 은 저장소 내부 값이므로 내보내지 않는다.
+// 도메인은 시각을 epoch 밀리초로, 실패 사유를 실패한 주문에만 들고 있지만,
+// 응답은 예전 계약대로 시각을 ISO-8601 문자열로, 실패 사유가 없으면 빈 문자열로 내보낸다
+public record OrderView(String id, String userId, String productId, int amount, String status,
+                        Date createdAt, Date updatedAt, String failureReason) {
+    public static OrderView of(Order order) {
+        return new OrderView(order.getId(), order.getUserId(), order.getProductId(), order.getAmount(),
+                order.getStatus().name(), new Date(order.getCreatedAt()), new Date(order.getUpdatedAt()),
+                order.getFailureReason() != null ? order.getFailureReason() : "");
+    }
+
+    public static List<OrderView> of(List<Order> orders) {
+        return orders.stream().map(OrderView::of).toList();
+    }
+}
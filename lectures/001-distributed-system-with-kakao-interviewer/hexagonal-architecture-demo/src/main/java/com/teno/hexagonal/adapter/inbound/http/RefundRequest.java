@@ -0,0 +1,5 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+// amount 를 비우면 남은 금액을 모두 환불한다
+public record RefundRequest(Integer amount) {
+}
@@ -0,0 +1,34 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.application.statistics.GroupStatistics;
+import com.teno.hexagonal.application.statistics.OrderStatistics;
+import com.teno.hexagonal.application.statistics.StatisticsSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/stats")
+@RequiredArgsConstructor
+public class StatisticsController {
+    private final OrderStatistics orderStatistics;
+
+    @GetMapping
+    public ResponseEntity<StatisticsSnapshot> getSummary() {
+        return ResponseEntity.status(HttpStatus.OK).body(orderStatistics.summary());
+    }
+
+    @GetMapping("products/{productId}")
+    public ResponseEntity<GroupStatistics> getProduct(@PathVariable String productId) {
+        return ResponseEntity.status(HttpStatus.OK).body(orderStatistics.product(productId));
+    }
+
+    @GetMapping("users/{userId}")
+    public ResponseEntity<GroupStatistics> getUser(@PathVariable String userId) {
+        return ResponseEntity.status(HttpStatus.OK).body(orderStatistics.user(userId));
+    }
+}
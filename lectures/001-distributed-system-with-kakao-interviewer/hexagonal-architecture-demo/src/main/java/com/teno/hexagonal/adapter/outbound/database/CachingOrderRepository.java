@@ -0,0 +1,123 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.outbound.OrderRepository;
+import com.teno.hexagonal.port.outbound.OrderVersionConflictException;
+
+import java.util.List;
+
+// findById 만 캐시하는 read-through 데코레이터. Caffeine 의 W-TinyLFU 로 한 번 스친 주문이 자주 쓰이는 주문을 밀어내지 않는다.
+// 쓰기는 저장소에 먼저 반영한 뒤 캐시를 갱신하므로, 동시에 적재 중이던 옛 값은 곧바로 덮어써진다.
+// 저장소 쓰기와 캐시 갱신 사이에 다른 쓰기가 끼어들 수 있으므로 캐시에는 버전이 더 높거나 같은 주문만 올린다
+public class CachingOrderRepository implements OrderRepository, AutoCloseable {
+    private final OrderRepository delegate;
+    private final LoadingCache<String, Order> cache;
+
+    public CachingOrderRepository(OrderRepository delegate, OrderCacheProperties properties) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .recordStats()
+                .build(delegate::findById);
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = delegate.save(order);
+        cacheLatest(saved);
+        return saved;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<Order> saved = delegate.saveAll(orders);
+        for (Order order : saved) {
+            cacheLatest(order);
+        }
+        return saved;
+    }
+
+    // 없는 주문은 캐시하지 않으므로 나중에 저장되어도 바로 보인다
+    @Override
+    public Order findById(String orderId) {
+        return cache.get(orderId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        return delegate.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Order> findByUserId(String userId, int limit) {
+        return delegate.findByUserId(userId, limit);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status, int limit) {
+        return delegate.findByStatus(status, limit);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(long fromMillis, long toMillis, int limit) {
+        return delegate.findByCreatedAtBetween(fromMillis, toMillis, limit);
+    }
+
+    @Override
+    public Order update(Order order) {
+        Order updated = delegate.update(order);
+        if (updated != null) {
+            cacheLatest(updated);
+        } else {
+            cache.invalidate(order.getId());
+        }
+        return updated;
+    }
+
+    @Override
+    public Order update(Order order, long expectedVersion) {
+        try {
+            Order updated = delegate.update(order, expectedVersion);
+            cacheLatest(updated);
+            return updated;
+        } catch (OrderVersionConflictException e) {
+            cache.invalidate(order.getId());
+            throw e;
+        }
+    }
+
+    @Override
+    public Order delete(String orderId) {
+        Order deleted = delegate.delete(orderId);
+        cache.invalidate(orderId);
+        return deleted;
+    }
+
+    private void cacheLatest(Order order) {
+        cache.asMap().merge(order.getId(), order,
+                (cached, written) -> written.getVersion() >= cached.getVersion() ? written : cached);
+    }
+
+    public OrderCacheStats stats() {
+        CacheStats stats = cache.stats();
+        return new OrderCacheStats(cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.hitRate(),
+                stats.evictionCount());
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// 끝난 주문을 OrderCodec 으로 인코딩해 힙 밖(direct buffer) 세그먼트에 이어 붙인다.
+// ID -> 위치 인덱스도 long[]/int[] 두 배열의 오픈 어드레싱 해시라서 주문 수만큼 힙 객체가 생기지 않는다.
+// 지워지거나 다시 올라간 레코드 자리는 재사용하지 않고 deadBytes 로 센다. 세그먼트마다 살아 있는 레코드 수를 세어
+// 하나도 남지 않은 세그먼트는 통째로 놓아 주고(direct buffer 는 GC 가 회수한다) 그 번호를 다음 세그먼트에 다시 쓴다.
+// 일부만 살아 있는 세그먼트는 옮겨 담지 않으므로 그 안의 죽은 자리는 남는다
+final class ColdOrderStore {
+    private static final long EMPTY = 0;
+    private static final long TOMBSTONE = -1;
+    private static final int INITIAL_CAPACITY = 1 << 16;
+
+    private final int segmentSize;
+    private final List<ByteBuffer> segments = new ArrayList<>();
+    private final Deque<Integer> freeSegments = new ArrayDeque<>();
+    private int[] liveRecords = new int[16];
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private ByteBuffer current;
+    private int currentIndex = -1;
+
+    // 위치는 (세그먼트 번호 << 32 | 오프셋) + 1 로 저장해서 0 을 빈 칸으로 쓴다
+    private long[] locations = new long[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+    private int occupied;
+    private long liveBytes;
+    private long deadBytes;
+    private long allocatedBytes;
+
+    ColdOrderStore(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    void put(Order order) {
+        byte[] record = OrderCodec.encode(order);
+        byte[] id = OrderCodec.bytes(order.getId());
+        int hash = hash(order.getId());
+        lock.writeLock().lock();
+        try {
+            long location = append(record);
+            int slot = find(id, hash);
+            if (slot >= 0) {
+                long previous = locations[slot] - 1;
+                locations[slot] = location + 1;
+                release(previous);
+            } else {
+                insert(location, hash);
+            }
+            liveBytes += Integer.BYTES + record.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Order get(String orderId) {
+        byte[] id = OrderCodec.bytes(orderId);
+        lock.readLock().lock();
+        try {
+            int slot = find(id, hash(orderId));
+            return slot >= 0 ? read(locations[slot] - 1) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    boolean remove(String orderId) {
+        byte[] id = OrderCodec.bytes(orderId);
+        lock.writeLock().lock();
+        try {
+            int slot = find(id, hash(orderId));
+            if (slot < 0) {
+                return false;
+            }
+            long location = locations[slot] - 1;
+            locations[slot] = TOMBSTONE;
+            size--;
+            release(location);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    List<Order> all() {
+        lock.readLock().lock();
+        try {
+            List<Order> orders = new ArrayList<>(size);
+            for (long location : locations) {
+                if (location != EMPTY && location != TOMBSTONE) {
+                    orders.add(read(location - 1));
+                }
+            }
+            return orders;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    ColdStoreStats stats() {
+        lock.readLock().lock();
+        try {
+            return new ColdStoreStats(size, allocatedBytes, liveBytes, deadBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            segments.clear();
+            freeSegments.clear();
+            liveRecords = new int[16];
+            current = null;
+            currentIndex = -1;
+            locations = new long[INITIAL_CAPACITY];
+            hashes = new int[INITIAL_CAPACITY];
+            size = 0;
+            occupied = 0;
+            liveBytes = 0;
+            deadBytes = 0;
+            allocatedBytes = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long append(byte[] record) {
+        int needed = Integer.BYTES + record.length;
+        if (current == null || current.remaining() < needed) {
+            // 쓰는 중에는 놓아 주지 않았으므로, 다 찬 세그먼트가 이미 비어 있으면 지금 놓아 준다
+            if (current != null && liveRecords[currentIndex] == 0) {
+                reclaim(currentIndex);
+            }
+            current = ByteBuffer.allocateDirect(Math.max(segmentSize, needed));
+            allocatedBytes += current.capacity();
+            currentIndex = allocateIndex(current);
+        }
+        long location = ((long) currentIndex << 32) | current.position();
+        current.putInt(record.length);
+        current.put(record);
+        liveRecords[currentIndex]++;
+        return location;
+    }
+
+    private int allocateIndex(ByteBuffer segment) {
+        Integer free = freeSegments.poll();
+        if (free != null) {
+            segments.set(free, segment);
+            return free;
+        }
+        segments.add(segment);
+        if (segments.size() > liveRecords.length) {
+            liveRecords = Arrays.copyOf(liveRecords, liveRecords.length * 2);
+        }
+        return segments.size() - 1;
+    }
+
+    // 자리를 잃은 레코드를 죽은 바이트로 옮기고, 세그먼트에 살아 있는 레코드가 남지 않으면 놓아 준다
+    private void release(long location) {
+        int bytes = recordSize(location);
+        liveBytes -= bytes;
+        deadBytes += bytes;
+        int index = (int) (location >>> 32);
+        if (--liveRecords[index] == 0 && index != currentIndex) {
+            reclaim(index);
+        }
+    }
+
+    private void reclaim(int index) {
+        ByteBuffer segment = segments.set(index, null);
+        allocatedBytes -= segment.capacity();
+        deadBytes -= segment.position();
+        freeSegments.push(index);
+    }
+
+    private Order read(long location) {
+        ByteBuffer segment = segments.get((int) (location >>> 32));
+        int offset = (int) location;
+        int length = segment.getInt(offset);
+        return OrderCodec.decode(segment.slice(offset + Integer.BYTES, length));
+    }
+
+    private int recordSize(long location) {
+        return Integer.BYTES + segments.get((int) (location >>> 32)).getInt((int) location);
+    }
+
+    private int find(byte[] id, int hash) {
+        int mask = locations.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            long location = locations[slot];
+            if (location == EMPTY) {
+                return -1;
+            }
+            if (location != TOMBSTONE && hashes[slot] == hash && idEquals(location - 1, id)) {
+                return slot;
+            }
+        }
+    }
+
+    // 레코드는 [레코드 길이][ID 길이][ID 바이트]... 로 시작한다
+    private boolean idEquals(long location, byte[] id) {
+        ByteBuffer segment = segments.get((int) (location >>> 32));
+        int offset = (int) location + Integer.BYTES;
+        if (segment.getInt(offset) != id.length) {
+            return false;
+        }
+        return segment.slice(offset + Integer.BYTES, id.length).mismatch(ByteBuffer.wrap(id)) == -1;
+    }
+
+    private void insert(long location, int hash) {
+        if ((occupied + 1) * 4L > locations.length * 3L) {
+            rehash(size * 4L > locations.length ? locations.length * 2 : locations.length);
+        }
+        int mask = locations.length - 1;
+        int slot = hash & mask;
+        while (locations[slot] != EMPTY && locations[slot] != TOMBSTONE) {
+            slot = (slot + 1) & mask;
+        }
+        if (locations[slot] == EMPTY) {
+            occupied++;
+        }
+        locations[slot] = location + 1;
+        hashes[slot] = hash;
+        size++;
+    }
+
+    // 묘비(TOMBSTONE)는 버리고 다시 넣는다. 지워진 것이 많으면 같은 크기로 정리만 한다
+    private void rehash(int capacity) {
+        long[] oldLocations = locations;
+        int[] oldHashes = hashes;
+        locations = new long[capacity];
+        hashes = new int[capacity];
+        occupied = 0;
+        int mask = capacity - 1;
+        for (int i = 0; i < oldLocations.length; i++) {
+            long location = oldLocations[i];
+            if (location == EMPTY || location == TOMBSTONE) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (locations[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            locations[slot] = location;
+            hashes[slot] = oldHashes[i];
+            occupied++;
+        }
+    }
+
+    private static int hash(String orderId) {
+        int h = orderId.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
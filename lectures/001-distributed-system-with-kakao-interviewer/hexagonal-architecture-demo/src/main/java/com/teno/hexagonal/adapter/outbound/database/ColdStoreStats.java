@@ -0,0 +1,4 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+public record ColdStoreStats(long orders, long offHeapBytes, long liveBytes, long deadBytes) {
+}
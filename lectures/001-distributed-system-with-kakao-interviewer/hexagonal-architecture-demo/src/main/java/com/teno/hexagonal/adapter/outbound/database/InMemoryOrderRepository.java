@@ -1,31 +1,76 @@
 package com.teno.hexagonal.adapter.outbound.database;
 
 import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderException;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
 import com.teno.hexagonal.port.outbound.OrderRepository;
-import org.springframework.stereotype.Repository;
+import com.teno.hexagonal.port.outbound.OrderVersionConflictException;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
-@Repository
 public class InMemoryOrderRepository implements OrderRepository {
-    Map<String, Order> orders;
+    // 숫자 ID는 길이가 짧을수록 작으므로 길이 -> 사전순으로 비교하면 발급 순서와 같아진다
+    static final Comparator<String> ID_ORDER = Comparator.comparingInt(String::length)
+            .thenComparing(Comparator.naturalOrder());
+
+    private final ConcurrentMap<String, Order> orders;
+    private final NavigableSet<String> orderedIds;
+    private final OrderIndexes indexes;
+    // 힙에서 내려간(demote) 주문을 찾는 곳. ID 와 인덱스는 그대로 두므로 조회 경로는 바뀌지 않는다
+    private final Function<String, Order> coldLookup;
 
     public InMemoryOrderRepository() {
-        this.orders = new HashMap<>();
+        this(orderId -> null);
+    }
+
+    InMemoryOrderRepository(Function<String, Order> coldLookup) {
+        this.orders = new ConcurrentHashMap<>();
+        this.orderedIds = new ConcurrentSkipListSet<>(ID_ORDER);
+        this.indexes = new OrderIndexes();
+        this.coldLookup = coldLookup;
     }
 
+    // 인덱스는 ID 맵의 compute 안에서 고친다. 같은 주문의 저장, 갱신, 삭제가 버킷 잠금으로 줄을 서므로
+    // 한쪽이 지운 인덱스 항목을 다른 쪽이 뒤늦게 되살리거나, 새로 넣은 항목을 지우는 일이 없다
     @Override
     public Order save(Order order) {
-        orders.put(order.getId(), order);
+        orders.compute(order.getId(), (id, previous) -> {
+            if (previous != null) {
+                indexes.remove(previous);
+            }
+            orderedIds.add(id);
+            indexes.add(order);
+            return order;
+        });
         return order;
     }
 
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        for (Order order : orders) {
+            save(order);
+        }
+        return orders;
+    }
+
     @Override
     public Order findById(String orderId) {
-        return orders.get(orderId);
+        Order order = orders.get(orderId);
+        if (order != null) {
+            return order;
+        }
+        order = coldLookup.apply(orderId);
+        // 힙을 본 뒤 차가운 쪽을 보기 전에 다시 올라왔을 수 있다
+        return order != null ? order : orders.get(orderId);
     }
 
     @Override
@@ -33,17 +78,98 @@ public class InMemoryOrderRepository implements OrderRepository {
         return new ArrayList<>(orders.values());
     }
 
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        NavigableSet<String> ids = cursor == null ? orderedIds : orderedIds.tailSet(cursor, false);
+        List<Order> page = new ArrayList<>(Math.min(limit, 1024));
+        for (String id : ids) {
+            Order order = findById(id);
+            if (order == null) {
+                continue;
+            }
+            if (page.size() == limit) {
+                return new OrderPage(page, page.get(limit - 1).getId());
+            }
+            page.add(order);
+        }
+        return new OrderPage(page, null);
+    }
+
+    @Override
+    public List<Order> findByUserId(String userId, int limit) {
+        return indexes.findByUserId(userId, limit, this::findById);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status, int limit) {
+        return indexes.findByStatus(status, limit, this::findById);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(long fromMillis, long toMillis, int limit) {
+        return indexes.findByCreatedAtBetween(fromMillis, toMillis, limit, this::findById);
+    }
+
+    public int size() {
+        return orders.size();
+    }
+
+    OrderIndexes indexes() {
+        return indexes;
+    }
+
+    // 같은 객체가 그대로 있을 때만 힙에서 뺀다. 그 사이 갱신되었다면 false
+    boolean demote(Order order) {
+        return orders.remove(order.getId(), order);
+    }
+
+    // 힙에 없을 때만 다시 올린다. ID 와 인덱스는 내려갈 때도 남아 있었으므로 건드리지 않는다
+    void promote(Order order) {
+        orders.putIfAbsent(order.getId(), order);
+    }
+
+    Iterable<Order> hotOrders() {
+        return orders.values();
+    }
+
     @Override
     public Order update(Order order) {
-        if (!orders.containsKey(order.getId())) {
-            throw new RuntimeException("주문을 찾을 수 없습니다");
+        // computeIfPresent 는 해당 버킷만 잠그므로 다른 주문의 갱신과 경합하지 않는다
+        Order updated = orders.computeIfPresent(order.getId(), (id, current) -> {
+            indexes.updateStatus(current, order);
+            return order;
+        });
+        if (updated == null) {
+            throw OrderException.ORDER_NOT_FOUND;
         }
-        orders.put(order.getId(), order);
-        return order;
+        return updated;
+    }
+
+    @Override
+    public Order update(Order order, long expectedVersion) {
+        // 람다 안에서 던진 예외는 매핑을 바꾸지 않고 그대로 전파된다
+        Order updated = orders.computeIfPresent(order.getId(), (id, current) -> {
+            if (current.getVersion() != expectedVersion) {
+                throw new OrderVersionConflictException("다른 요청이 먼저 주문을 변경했습니다");
+            }
+            indexes.updateStatus(current, order);
+            return order;
+        });
+        if (updated == null) {
+            throw OrderException.ORDER_NOT_FOUND;
+        }
+        return updated;
     }
 
     @Override
     public Order delete(String orderId) {
-        return orders.remove(orderId);
+        AtomicReference<Order> removed = new AtomicReference<>();
+        orders.computeIfPresent(orderId, (id, current) -> {
+            orderedIds.remove(id);
+            indexes.remove(current);
+            removed.set(current);
+            return null;
+        });
+        return removed.get();
     }
 }
@@ -0,0 +1,11 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("order.repository.cache")
+public record OrderCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("100000") long maximumSize
+) {
+}
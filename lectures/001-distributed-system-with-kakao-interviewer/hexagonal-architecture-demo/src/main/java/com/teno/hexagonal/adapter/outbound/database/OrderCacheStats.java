@@ -0,0 +1,4 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+public record OrderCacheStats(long size, long hits, long misses, double hitRate, long evictions) {
+}
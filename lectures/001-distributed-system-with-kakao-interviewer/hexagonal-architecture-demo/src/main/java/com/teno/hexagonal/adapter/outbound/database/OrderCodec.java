@@ -0,0 +1,77 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+final class OrderCodec {
+    private static final int NULL_LENGTH = -1;
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderCodec() {
+    }
+
+    static byte[] encode(Order order) {
+        byte[] id = bytes(order.getId());
+        byte[] userId = bytes(order.getUserId());
+        byte[] productId = bytes(order.getProductId());
+        byte[] failureReason = bytes(order.getFailureReason());
+
+        int size = sizeOf(id) + sizeOf(userId) + sizeOf(productId) + Integer.BYTES
+                + Byte.BYTES + Long.BYTES * 2 + sizeOf(failureReason) + Long.BYTES;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        put(buffer, id);
+        put(buffer, userId);
+        put(buffer, productId);
+        buffer.putInt(order.getAmount());
+        buffer.put((byte) order.getStatus().ordinal());
+        buffer.putLong(order.getCreatedAt());
+        buffer.putLong(order.getUpdatedAt());
+        put(buffer, failureReason);
+        buffer.putLong(order.getVersion());
+        return buffer.array();
+    }
+
+    static Order decode(ByteBuffer buffer) {
+        String id = string(buffer);
+        String userId = string(buffer);
+        String productId = string(buffer);
+        int amount = buffer.getInt();
+        OrderStatus status = STATUSES[buffer.get()];
+        long createdAt = buffer.getLong();
+        long updatedAt = buffer.getLong();
+        String failureReason = string(buffer);
+        // 버전이 없던 시절에 기록된 레코드는 0 으로 읽는다
+        long version = buffer.remaining() >= Long.BYTES ? buffer.getLong() : 0;
+        return Order.restore(id, userId, productId, amount, status, createdAt, updatedAt, failureReason, version);
+    }
+
+    static byte[] bytes(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] value) {
+        return Integer.BYTES + (value != null ? value.length : 0);
+    }
+
+    private static void put(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL_LENGTH);
+            return;
+        }
+        buffer.putInt(value.length);
+        buffer.put(value);
+    }
+}
@@ -0,0 +1,117 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+class OrderIndexes {
+    // 같은 밀리초에 생성된 주문끼리는 ID 순서로 놓아, 시각별 집합 없이 (시각, ID) 하나로 색인한다
+    private static final Comparator<CreatedAtEntry> CREATED_AT_ORDER = Comparator
+            .comparingLong(CreatedAtEntry::createdAt)
+            .thenComparing(CreatedAtEntry::orderId, InMemoryOrderRepository.ID_ORDER);
+    // ID_ORDER 에서 빈 문자열은 어떤 ID 보다도 앞선다
+    private static final String FIRST_ID = "";
+
+    private final ConcurrentMap<String, Set<String>> byUserId = new ConcurrentHashMap<>();
+    private final Map<OrderStatus, Set<String>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final NavigableSet<CreatedAtEntry> byCreatedAt = new ConcurrentSkipListSet<>(CREATED_AT_ORDER);
+
+    OrderIndexes() {
+        // 상태 집합은 미리 만들어 두므로 EnumMap 자체는 읽기 전용으로만 쓰인다
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    // 사용자별 집합은 같은 키의 compute 안에서만 더하고 비우므로, 빈 집합을 지우는 사이 다른 주문이 끼어들지 않는다
+    void add(Order order) {
+        byUserId.compute(order.getUserId(), (userId, ids) -> {
+            Set<String> target = ids != null ? ids : ConcurrentHashMap.newKeySet();
+            target.add(order.getId());
+            return target;
+        });
+        byCreatedAt.add(new CreatedAtEntry(order.getCreatedAt(), order.getId()));
+        byStatus.get(order.getStatus()).add(order.getId());
+    }
+
+    // 저장본은 바꿀 때마다 새 객체이므로 previous 가 실제로 바뀌기 전 상태다. 그 상태 집합에서만 지운다
+    void updateStatus(Order previous, Order order) {
+        if (previous.getStatus() != order.getStatus()) {
+            byStatus.get(previous.getStatus()).remove(order.getId());
+        }
+        byStatus.get(order.getStatus()).add(order.getId());
+    }
+
+    void remove(Order order) {
+        byUserId.computeIfPresent(order.getUserId(), (userId, ids) -> {
+            ids.remove(order.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+        byCreatedAt.remove(new CreatedAtEntry(order.getCreatedAt(), order.getId()));
+        byStatus.get(order.getStatus()).remove(order.getId());
+    }
+
+    List<Order> findByUserId(String userId, int limit, Function<String, Order> lookup) {
+        return resolve(byUserId.getOrDefault(userId, Set.of()), limit, lookup,
+                order -> order.getUserId().equals(userId));
+    }
+
+    List<Order> findByStatus(OrderStatus status, int limit, Function<String, Order> lookup) {
+        return resolve(byStatus.get(status), limit, lookup, order -> order.getStatus() == status);
+    }
+
+    List<Order> findByCreatedAtBetween(long fromMillis, long toMillis, int limit, Function<String, Order> lookup) {
+        NavigableSet<CreatedAtEntry> range = byCreatedAt.subSet(
+                new CreatedAtEntry(fromMillis, FIRST_ID), true, new CreatedAtEntry(toMillis, FIRST_ID), false);
+        List<Order> result = new ArrayList<>();
+        for (CreatedAtEntry entry : range) {
+            if (result.size() >= limit) {
+                break;
+            }
+            Order order = lookup.apply(entry.orderId());
+            if (order != null) {
+                result.add(order);
+            }
+        }
+        return result;
+    }
+
+    int userCount() {
+        return byUserId.size();
+    }
+
+    int createdAtCount() {
+        return byCreatedAt.size();
+    }
+
+    private static List<Order> resolve(Collection<String> ids, int limit, Function<String, Order> lookup,
+                                       Predicate<Order> stillMatches) {
+        List<Order> result = new ArrayList<>();
+        for (String id : ids) {
+            if (result.size() >= limit) {
+                break;
+            }
+            Order order = lookup.apply(id);
+            if (order != null && stillMatches.test(order)) {
+                result.add(order);
+            }
+        }
+        return result;
+    }
+
+    private record CreatedAtEntry(long createdAt, String orderId) {
+    }
+}
@@ -0,0 +1,4 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+public record TierStats(long hotOrders, long coldOrders, long offHeapBytes, long coldLiveBytes, long coldDeadBytes) {
+}
@@ -0,0 +1,169 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.outbound.OrderRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// 진행 중이거나 최근에 끝난 주문은 힙(InMemoryOrderRepository)에, 끝난 지 coldAfter 가 지난 주문은 힙 밖(ColdOrderStore)에 둔다.
+// 내릴 때는 차가운 쪽에 먼저 쓰고 나서 힙에서 빼고, 올릴 때는 힙에 먼저 넣고 나서 차가운 쪽에서 지우므로 읽는 쪽은 어느 한쪽에서 찾는다.
+// 쓰기와 내리기는 주문 ID 별 줄무늬 잠금으로 직렬화해서, 갱신 도중에 주문이 내려가는 일이 없다
+@Slf4j
+public class TieredOrderRepository implements OrderRepository, AutoCloseable {
+    private static final int STRIPES = 64;
+
+    private final ColdOrderStore cold;
+    private final InMemoryOrderRepository hot;
+    private final long coldAfterMillis;
+    private final ScheduledExecutorService demoter;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public TieredOrderRepository(TieredProperties properties) {
+        this.cold = new ColdOrderStore(properties.segmentBytes());
+        this.hot = new InMemoryOrderRepository(cold::get);
+        this.coldAfterMillis = properties.coldAfter().toMillis();
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.demoter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("order-demoter").factory());
+        long interval = properties.demoteInterval().toMillis();
+        demoter.scheduleWithFixedDelay(this::demoteSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Order save(Order order) {
+        return locked(order.getId(), () -> hot.save(order));
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        for (Order order : orders) {
+            save(order);
+        }
+        return orders;
+    }
+
+    @Override
+    public Order findById(String orderId) {
+        return hot.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        List<Order> orders = new ArrayList<>(hot.findAll());
+        orders.addAll(cold.all());
+        return orders;
+    }
+
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        return hot.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Order> findByUserId(String userId, int limit) {
+        return hot.findByUserId(userId, limit);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status, int limit) {
+        return hot.findByStatus(status, limit);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(long fromMillis, long toMillis, int limit) {
+        return hot.findByCreatedAtBetween(fromMillis, toMillis, limit);
+    }
+
+    @Override
+    public Order update(Order order) {
+        return locked(order.getId(), () -> hot.update(order));
+    }
+
+    @Override
+    public Order update(Order order, long expectedVersion) {
+        return locked(order.getId(), () -> hot.update(order, expectedVersion));
+    }
+
+    @Override
+    public Order delete(String orderId) {
+        return locked(orderId, () -> hot.delete(orderId));
+    }
+
+    public int demote() {
+        long threshold = System.currentTimeMillis() - coldAfterMillis;
+        int demoted = 0;
+        for (Order order : hot.hotOrders()) {
+            if (!order.getStatus().isTerminal() || order.getUpdatedAt() > threshold) {
+                continue;
+            }
+            ReentrantLock lock = stripe(order.getId());
+            lock.lock();
+            try {
+                cold.put(order);
+                if (hot.demote(order)) {
+                    demoted++;
+                } else {
+                    // 목록을 얻은 뒤 갱신되었다. 힙의 새 객체가 기준이므로 방금 쓴 것을 지운다
+                    cold.remove(order.getId());
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+        return demoted;
+    }
+
+    public TierStats stats() {
+        ColdStoreStats coldStats = cold.stats();
+        return new TierStats(hot.size(), coldStats.orders(), coldStats.offHeapBytes(), coldStats.liveBytes(),
+                coldStats.deadBytes());
+    }
+
+    // 차가운 주문도 바뀔 수 있다(FAILED -> CANCELED). 잠금 안에서 힙으로 올린 뒤 평소처럼 쓴다
+    private <T> T locked(String orderId, Supplier<T> action) {
+        ReentrantLock lock = stripe(orderId);
+        lock.lock();
+        try {
+            Order order = cold.get(orderId);
+            if (order != null) {
+                hot.promote(order);
+                cold.remove(orderId);
+            }
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripe(String orderId) {
+        return stripes[orderId.hashCode() & (STRIPES - 1)];
+    }
+
+    private void demoteSafely() {
+        try {
+            int demoted = demote();
+            if (demoted > 0) {
+                log.debug("주문 {}건을 힙 밖으로 내렸습니다", demoted);
+            }
+        } catch (RuntimeException e) {
+            log.error("주문 내리기 실패", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        demoter.shutdownNow();
+        cold.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties("order.repository.tiered")
+public record TieredProperties(
+        @DefaultValue("10m") Duration coldAfter,
+        @DefaultValue("10s") Duration demoteInterval,
+        @DefaultValue("64MB") DataSize segmentSize
+) {
+    public TieredProperties {
+        // 세그먼트는 ByteBuffer 하나이므로 int 로 담을 수 있는 크기까지만 받는다
+        if (segmentSize.toBytes() < 1 || segmentSize.toBytes() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "콜드 세그먼트 크기는 1B 이상 " + Integer.MAX_VALUE + "B 이하여야 합니다: " + segmentSize);
+        }
+    }
+
+    int segmentBytes() {
+        return (int) segmentSize.toBytes();
+    }
+}
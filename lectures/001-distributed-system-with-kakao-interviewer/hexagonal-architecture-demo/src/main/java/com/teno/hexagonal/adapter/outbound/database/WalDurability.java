@@ -0,0 +1,10 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+public enum WalDurability {
+    // 쓰기마다 fsync 후 응답
+    EVERY_WRITE,
+    // 동시에 들어온 쓰기를 한 번의 fsync 로 묶고, fsync 가 끝난 뒤 응답
+    BATCHED,
+    // 기록만 하고 즉시 응답, fsync 는 flush-interval 마다 수행
+    ASYNC
+}
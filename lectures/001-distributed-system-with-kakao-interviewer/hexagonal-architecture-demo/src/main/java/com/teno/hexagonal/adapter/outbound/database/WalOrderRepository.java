@@ -0,0 +1,140 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderException;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.outbound.OrderRepository;
+import com.teno.hexagonal.port.outbound.OrderVersionConflictException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+public class WalOrderRepository implements OrderRepository, AutoCloseable {
+    private static final Runnable NO_CHECK = () -> {
+    };
+
+    private final InMemoryOrderRepository state;
+    private final WriteAheadLog wal;
+    private final ScheduledExecutorService snapshotter;
+
+    public WalOrderRepository(WalProperties properties) {
+        this.state = new InMemoryOrderRepository();
+        this.wal = new WriteAheadLog(properties.directory(), properties.durability(), properties.flushInterval().toNanos());
+
+        long started = System.nanoTime();
+        wal.open(state::save, state::delete);
+        log.info("WAL 복구 완료: 주문 {}건, {} ms", state.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        this.snapshotter = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("wal-snapshot").factory());
+        long interval = properties.snapshotInterval().toMillis();
+        snapshotter.scheduleWithFixedDelay(() -> snapshotIfNeeded(properties.snapshotMinRecords()),
+                interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Order save(Order order) {
+        wal.append(WriteAheadLog.PUT, order.getId(), OrderCodec.encode(order), NO_CHECK, () -> state.save(order));
+        return order;
+    }
+
+    @Override
+    public List<Order> saveAll(List<Order> orders) {
+        List<String> ids = orders.stream().map(Order::getId).toList();
+        List<byte[]> bodies = orders.stream().map(OrderCodec::encode).toList();
+        wal.appendAll(WriteAheadLog.PUT, ids, bodies, NO_CHECK, () -> state.saveAll(orders));
+        return orders;
+    }
+
+    @Override
+    public Order findById(String orderId) {
+        return state.findById(orderId);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return state.findAll();
+    }
+
+    @Override
+    public OrderPage findPage(String cursor, int limit) {
+        return state.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Order> findByUserId(String userId, int limit) {
+        return state.findByUserId(userId, limit);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status, int limit) {
+        return state.findByStatus(status, limit);
+    }
+
+    @Override
+    public List<Order> findByCreatedAtBetween(long fromMillis, long toMillis, int limit) {
+        return state.findByCreatedAtBetween(fromMillis, toMillis, limit);
+    }
+
+    @Override
+    public Order update(Order order) {
+        wal.append(WriteAheadLog.PUT, order.getId(), OrderCodec.encode(order), () -> current(order.getId()),
+                () -> state.update(order));
+        return order;
+    }
+
+    // 버전 검사는 기록 전에 잠금 안에서 하므로, 충돌한 변경은 로그에 남지 않는다
+    @Override
+    public Order update(Order order, long expectedVersion) {
+        wal.append(WriteAheadLog.PUT, order.getId(), OrderCodec.encode(order), () -> {
+            if (current(order.getId()).getVersion() != expectedVersion) {
+                throw new OrderVersionConflictException("다른 요청이 먼저 주문을 변경했습니다");
+            }
+        }, () -> state.update(order, expectedVersion));
+        return order;
+    }
+
+    @Override
+    public Order delete(String orderId) {
+        AtomicReference<Order> removed = new AtomicReference<>();
+        wal.append(WriteAheadLog.DELETE, orderId, WriteAheadLog.deleteBody(orderId), NO_CHECK,
+                () -> removed.set(state.delete(orderId)));
+        return removed.get();
+    }
+
+    public void snapshot() {
+        wal.snapshot(state::findAll);
+    }
+
+    // 검사는 WAL 잠금 안에서, 같은 주문의 앞선 변경이 모두 반영된 뒤에 하므로 검사한 상태가 기록 전까지 바뀌지 않는다
+    private Order current(String orderId) {
+        Order current = state.findById(orderId);
+        if (current == null) {
+            throw OrderException.ORDER_NOT_FOUND;
+        }
+        return current;
+    }
+
+    private void snapshotIfNeeded(long minRecords) {
+        try {
+            if (wal.appendedSinceSnapshot() >= minRecords) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            log.error("WAL 스냅샷 실패", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        snapshotter.shutdownNow();
+        wal.close();
+    }
+}
@@ -0,0 +1,17 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("order.repository.wal")
+public record WalProperties(
+        @DefaultValue("data/wal") Path directory,
+        @DefaultValue("BATCHED") WalDurability durability,
+        @DefaultValue("10ms") Duration flushInterval,
+        @DefaultValue("1m") Duration snapshotInterval,
+        @DefaultValue("100000") long snapshotMinRecords
+) {
+}
@@ -0,0 +1,488 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// 레코드 형식: [int 본문 길이][int CRC32C(type + 본문)][byte type][본문]
+@Slf4j
+class WriteAheadLog implements AutoCloseable {
+    static final byte PUT = 1;
+    static final byte DELETE = 2;
+    private static final int HEADER_SIZE = Integer.BYTES * 2 + 1;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".dat";
+
+    private final Path directory;
+    private final WalDurability durability;
+    private final long flushIntervalNanos;
+    private final SegmentOpener segmentOpener;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private FileChannel channel;
+    private long segment;
+    private long appendedSequence;
+    private long durableSequence;
+    private long sequenceAtLastSnapshot;
+    // BATCHED 에서 기록은 끝났지만 fsync 를 기다리는 변경. 로그 순서대로 내구화된 만큼만 메모리에 반영한다
+    private final Queue<PendingApply> pending = new ArrayDeque<>();
+    private final Map<String, Integer> pendingKeys = new HashMap<>();
+    // 한 번이라도 기록이나 fsync 에 실패하면 디스크와 메모리가 어긋났을 수 있으므로 이후 쓰기를 모두 거절한다
+    private IOException failure;
+    private boolean closed;
+    private final Thread flusher;
+
+    WriteAheadLog(Path directory, WalDurability durability, long flushIntervalNanos) {
+        this(directory, durability, flushIntervalNanos,
+                path -> FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+    }
+
+    WriteAheadLog(Path directory, WalDurability durability, long flushIntervalNanos, SegmentOpener segmentOpener) {
+        this.directory = directory;
+        this.durability = durability;
+        this.flushIntervalNanos = flushIntervalNanos;
+        this.segmentOpener = segmentOpener;
+        this.flusher = durability == WalDurability.EVERY_WRITE ? null
+                : Thread.ofPlatform().daemon().name("wal-flusher").unstarted(this::flushLoop);
+    }
+
+    void open(Consumer<Order> onPut, Consumer<String> onDelete) {
+        try {
+            Files.createDirectories(directory);
+            long snapshot = latest(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+            if (snapshot >= 0) {
+                readSnapshot(file(SNAPSHOT_PREFIX, snapshot, SNAPSHOT_SUFFIX), onPut);
+            }
+            List<Long> segments = list(SEGMENT_PREFIX, SEGMENT_SUFFIX).stream()
+                    .filter(seq -> seq >= snapshot)
+                    .toList();
+            for (long seq : segments) {
+                replaySegment(file(SEGMENT_PREFIX, seq, SEGMENT_SUFFIX), onPut, onDelete);
+            }
+            long last = segments.isEmpty() ? Math.max(snapshot, 0) : segments.getLast();
+            segment = last + 1;
+            channel = openSegment(segment);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (flusher != null) {
+            flusher.start();
+        }
+    }
+
+    // validate 는 기록 전에, apply 는 기록이 내구화된 뒤에 실행된다(ASYNC 는 내구화를 기다리지 않는 모드라 기록 직후).
+    // 검사에 실패한 변경은 로그에 남지 않고, 기록이나 fsync 에 실패한 변경은 메모리에 반영되지 않으며, 반영 순서는 로그 순서와 같다.
+    // key 가 같은 변경이 fsync 를 기다리는 중이면 그 변경이 반영될 때까지 검사를 미뤄, 검사가 항상 로그에 남은 마지막 상태를 본다
+    void append(byte type, String key, byte[] body, Runnable validate, Runnable apply) {
+        appendAll(type, List.of(key), List.of(body), validate, apply);
+    }
+
+    void appendAll(byte type, Collection<String> keys, List<byte[]> bodies, Runnable validate, Runnable apply) {
+        ByteBuffer[] records = new ByteBuffer[bodies.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = frame(type, bodies.get(i));
+        }
+        lock.lock();
+        try {
+            checkWritable();
+            while (isPending(keys)) {
+                flushed.awaitUninterruptibly();
+                checkWritable();
+            }
+            validate.run();
+            try {
+                write(records);
+            } catch (IOException e) {
+                throw fail(e);
+            }
+            appendedSequence += records.length;
+            long sequence = appendedSequence;
+            switch (durability) {
+                case EVERY_WRITE -> {
+                    try {
+                        channel.force(false);
+                    } catch (IOException e) {
+                        throw fail(e);
+                    }
+                    durableSequence = sequence;
+                    apply.run();
+                }
+                case ASYNC -> {
+                    apply.run();
+                    appended.signal();
+                }
+                case BATCHED -> {
+                    pending.add(new PendingApply(sequence, keys, apply));
+                    for (String key : keys) {
+                        pendingKeys.merge(key, 1, Integer::sum);
+                    }
+                    appended.signal();
+                    // 반영은 fsync 를 끝낸 쪽(플러셔, 스냅샷, 종료)이 로그 순서대로 한다
+                    while (durableSequence < sequence && failure == null) {
+                        flushed.awaitUninterruptibly();
+                    }
+                    if (durableSequence < sequence) {
+                        throw new UncheckedIOException("WAL fsync 실패로 변경을 반영하지 않았습니다", failure);
+                    }
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long appendedSinceSnapshot() {
+        lock.lock();
+        try {
+            return appendedSequence - sequenceAtLastSnapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 새 세그먼트로 전환한 다음, 같은 잠금 안에서 그 시점의 상태를 읽어 스냅샷으로 남기고 이전 세그먼트를 지운다.
+    // 전환 전의 변경은 모두 state 에 반영되어 있고 전환 이후의 변경은 새 세그먼트에 남으므로, 파일을 쓰는 동안에는 쓰기를 막지 않는다
+    void snapshot(Supplier<? extends Iterable<Order>> state) {
+        long snapshotSegment;
+        Iterable<Order> orders;
+        lock.lock();
+        try {
+            checkWritable();
+            try {
+                channel.force(false);
+                channel.close();
+                durableSequence = appendedSequence;
+                applyDurable();
+                sequenceAtLastSnapshot = appendedSequence;
+                snapshotSegment = ++segment;
+                channel = openSegment(snapshotSegment);
+            } catch (IOException e) {
+                throw fail(e);
+            }
+            orders = state.get();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            Path temp = directory.resolve(SNAPSHOT_PREFIX + snapshotSegment + ".tmp");
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(out), 1 << 16))) {
+                for (Order order : orders) {
+                    byte[] body = OrderCodec.encode(order);
+                    data.writeInt(body.length);
+                    data.write(body);
+                }
+                data.writeInt(-1);
+                data.flush();
+                out.force(true);
+            }
+            Files.move(temp, file(SNAPSHOT_PREFIX, snapshotSegment, SNAPSHOT_SUFFIX),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            for (long seq : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+                if (seq < snapshotSegment) {
+                    Files.deleteIfExists(file(SNAPSHOT_PREFIX, seq, SNAPSHOT_SUFFIX));
+                }
+            }
+            for (long seq : list(SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+                if (seq < snapshotSegment) {
+                    Files.deleteIfExists(file(SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appended.signalAll();
+            if (failure == null) {
+                channel.force(false);
+                durableSequence = appendedSequence;
+                applyDurable();
+            }
+            channel.close();
+        } catch (IOException e) {
+            throw fail(e);
+        } finally {
+            flushed.signalAll();
+            lock.unlock();
+        }
+        if (flusher != null) {
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // 한 번의 fsync 로 그 사이에 쌓인 모든 레코드를 함께 내구화한다 (group commit)
+    private void flushLoop() {
+        while (true) {
+            FileChannel target;
+            long sequence;
+            lock.lock();
+            try {
+                while (!closed && failure == null && durableSequence == appendedSequence) {
+                    appended.awaitUninterruptibly();
+                }
+                if (closed || failure != null) {
+                    return;
+                }
+                target = channel;
+                sequence = appendedSequence;
+            } finally {
+                lock.unlock();
+            }
+
+            IOException forceFailure = null;
+            try {
+                target.force(false);
+            } catch (ClosedChannelException e) {
+                // 세그먼트 전환이나 종료 시점에 이미 fsync 되었다
+            } catch (IOException e) {
+                forceFailure = e;
+            }
+
+            lock.lock();
+            try {
+                if (forceFailure != null) {
+                    // 실패한 fsync 를 다시 시도해도 그 사이 잃은 페이지는 돌아오지 않으므로, 로그를 멈추고 플러셔도 끝낸다
+                    fail(forceFailure);
+                    return;
+                }
+                if (sequence > durableSequence) {
+                    durableSequence = sequence;
+                    applyDurable();
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (durability == WalDurability.ASYNC) {
+                LockSupport.parkNanos(flushIntervalNanos);
+            }
+        }
+    }
+
+    private void checkWritable() {
+        if (failure != null) {
+            throw new UncheckedIOException("WAL 기록에 실패해 쓰기를 멈췄습니다", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("WAL이 닫혔습니다");
+        }
+    }
+
+    private boolean isPending(Collection<String> keys) {
+        if (pendingKeys.isEmpty()) {
+            return false;
+        }
+        for (String key : keys) {
+            if (pendingKeys.containsKey(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 잠금을 쥔 채로 부른다
+    private void applyDurable() {
+        while (!pending.isEmpty() && pending.peek().sequence() <= durableSequence) {
+            PendingApply next = pending.poll();
+            for (String key : next.keys()) {
+                pendingKeys.computeIfPresent(key, (k, count) -> count == 1 ? null : count - 1);
+            }
+            try {
+                next.apply().run();
+            } catch (RuntimeException e) {
+                // 검사를 통과한 변경이므로 여기서 실패하면 버그다. 뒤따르는 변경의 반영은 막지 않는다
+                log.error("WAL 변경 반영 실패: sequence={}", next.sequence(), e);
+            }
+        }
+        flushed.signalAll();
+    }
+
+    // 잠금을 쥔 채로 부른다. 아직 반영하지 않은 변경은 버리고, 기다리던 쓰기와 플러셔를 깨워 실패를 알린다
+    private UncheckedIOException fail(IOException e) {
+        if (failure == null) {
+            log.error("WAL 기록 실패, 이후 쓰기를 거절합니다", e);
+            failure = e;
+        }
+        pending.clear();
+        pendingKeys.clear();
+        appended.signalAll();
+        flushed.signalAll();
+        return new UncheckedIOException(e);
+    }
+
+    private static ByteBuffer frame(byte type, byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(type);
+        crc.update(body);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + body.length);
+        record.putInt(body.length);
+        record.putInt((int) crc.getValue());
+        record.put(type);
+        record.put(body);
+        return record.flip();
+    }
+
+    static byte[] deleteBody(String orderId) {
+        return orderId.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void replaySegment(Path path, Consumer<Order> onPut, Consumer<String> onDelete) throws IOException {
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                byte[] body;
+                int checksum;
+                byte type;
+                try {
+                    checksum = in.readInt();
+                    type = in.readByte();
+                    if (length < 0) {
+                        break;
+                    }
+                    body = in.readNBytes(length);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (body.length != length) {
+                    break;
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(type);
+                crc.update(body);
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                if (type == PUT) {
+                    onPut.accept(OrderCodec.decode(ByteBuffer.wrap(body)));
+                } else if (type == DELETE) {
+                    onDelete.accept(new String(body, StandardCharsets.UTF_8));
+                }
+                validLength += HEADER_SIZE + length;
+            }
+        }
+
+        if (validLength < Files.size(path)) {
+            // 기록 도중 중단된 꼬리 레코드는 버린다
+            log.warn("WAL 세그먼트 {} 의 손상된 꼬리를 {} 바이트 위치에서 잘라냅니다", path.getFileName(), validLength);
+            try (FileChannel out = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                out.truncate(validLength);
+                out.force(true);
+            }
+        }
+    }
+
+    private static void readSnapshot(Path path, Consumer<Order> onPut) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            int length;
+            while ((length = in.readInt()) >= 0) {
+                onPut.accept(OrderCodec.decode(ByteBuffer.wrap(in.readNBytes(length))));
+            }
+        }
+    }
+
+    private FileChannel openSegment(long seq) throws IOException {
+        return segmentOpener.open(file(SEGMENT_PREFIX, seq, SEGMENT_SUFFIX));
+    }
+
+    // 일부만 기록된 채 실패하면 그 뒤에 붙는 레코드까지 복구 때 버려지므로, 기록 전 길이로 되돌린다
+    private void write(ByteBuffer[] records) throws IOException {
+        long position = channel.size();
+        try {
+            for (ByteBuffer record : records) {
+                while (record.hasRemaining()) {
+                    channel.write(record);
+                }
+            }
+        } catch (IOException e) {
+            try {
+                channel.truncate(position);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    private Path file(String prefix, long seq, String suffix) {
+        return directory.resolve(prefix + seq + suffix);
+    }
+
+    private long latest(String prefix, String suffix) throws IOException {
+        List<Long> found = list(prefix, suffix);
+        return found.isEmpty() ? -1 : found.getLast();
+    }
+
+    @FunctionalInterface
+    interface SegmentOpener {
+        FileChannel open(Path path) throws IOException;
+    }
+
+    private record PendingApply(long sequence, Collection<String> keys, Runnable apply) {
+    }
+
+    private List<Long> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && name.endsWith(suffix))
+                    .map(name -> Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+}
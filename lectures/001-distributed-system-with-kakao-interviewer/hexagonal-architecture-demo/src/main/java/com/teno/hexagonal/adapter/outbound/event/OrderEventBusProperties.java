@@ -0,0 +1,15 @@
+package com.teno.hexagonal.adapter.outbound.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("order.events")
+public record OrderEventBusProperties(
+        @DefaultValue("4") int shards,
+        @DefaultValue("8192") int bufferSize,
+        @DefaultValue("256") int maxBatchSize,
+        @DefaultValue("1s") Duration publishTimeout
+) {
+}
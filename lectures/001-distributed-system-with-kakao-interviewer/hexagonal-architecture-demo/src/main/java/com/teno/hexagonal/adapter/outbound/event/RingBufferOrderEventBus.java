@@ -0,0 +1,240 @@
+package com.teno.hexagonal.adapter.outbound.event;
+
+import com.teno.hexagonal.domain.OrderEvent;
+import com.teno.hexagonal.port.outbound.OrderEventListener;
+import com.teno.hexagonal.port.outbound.OrderEventPublisher;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// 주문 ID 로 샤드를 고르므로 한 주문의 이벤트는 항상 같은 순서로 전달된다.
+// 샤드마다 미리 할당한 링 버퍼를 두고, 소비자(리스너)마다 스레드 하나가 모든 샤드를 돌며 쌓인 만큼 한 번에 꺼낸다.
+// 버퍼가 가득 차면 생산자는 publishTimeout 까지만 기다리고 이벤트를 버린다. 이벤트는 통계 같은 부가 처리용이라
+// 멈춘 리스너 하나 때문에 주문 요청이 묶이는 것보다 일부를 잃는 편을 택한다
+@Slf4j
+public class RingBufferOrderEventBus implements OrderEventPublisher, AutoCloseable {
+    private static final int SPINS = 100;
+    private static final int YIELDS = 100;
+    private static final int PARK_STEPS = 7;
+    static final long MIN_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Shard[] shards;
+    private final List<OrderEventListener> listeners;
+    private final List<Thread> consumers = new ArrayList<>();
+    private final int maxBatchSize;
+    private final long publishTimeoutNanos;
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running = true;
+
+    public RingBufferOrderEventBus(List<OrderEventListener> listeners, OrderEventBusProperties properties) {
+        if (Integer.bitCount(properties.bufferSize()) != 1) {
+            throw new IllegalArgumentException("버퍼 크기는 2의 거듭제곱이어야 합니다");
+        }
+        this.listeners = List.copyOf(listeners);
+        this.maxBatchSize = properties.maxBatchSize();
+        this.publishTimeoutNanos = properties.publishTimeout().toNanos();
+        this.shards = new Shard[properties.shards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(properties.bufferSize(), this.listeners.size());
+        }
+        for (int i = 0; i < this.listeners.size(); i++) {
+            int consumer = i;
+            OrderEventListener listener = this.listeners.get(i);
+            consumers.add(Thread.ofPlatform()
+                    .daemon()
+                    .name("order-events-" + listener.getClass().getSimpleName())
+                    .start(() -> consume(consumer, listener)));
+        }
+    }
+
+    @Override
+    public void publish(OrderEvent event) {
+        if (listeners.isEmpty()) {
+            return;
+        }
+        if (!shards[Math.floorMod(event.orderId().hashCode(), shards.length)].publish(event, publishTimeoutNanos)) {
+            dropped.increment();
+            log.warn("이벤트 버퍼가 가득 차 주문 이벤트를 버립니다: {} {}", event.type(), event.orderId());
+        }
+    }
+
+    public long dropped() {
+        return dropped.sum();
+    }
+
+    private void consume(int consumer, OrderEventListener listener) {
+        try {
+            drain(consumer, listener);
+        } finally {
+            if (running) {
+                log.error("주문 이벤트 소비 스레드가 멈췄습니다: {}", listener.getClass().getSimpleName());
+            }
+            // 멈춘 소비자를 기다리며 생산자가 막히지 않도록 모든 샤드에서 빼 준다
+            for (Shard shard : shards) {
+                shard.detach(consumer);
+            }
+        }
+    }
+
+    private void drain(int consumer, OrderEventListener listener) {
+        long[] next = new long[shards.length];
+        int idle = 0;
+        while (true) {
+            boolean worked = false;
+            for (int s = 0; s < shards.length; s++) {
+                Shard shard = shards[s];
+                long from = next[s];
+                long to = shard.availableFrom(from, maxBatchSize);
+                if (to == from) {
+                    continue;
+                }
+                for (long seq = from; seq < to; seq++) {
+                    try {
+                        listener.onEvent(shard.get(seq), seq == to - 1);
+                    } catch (Throwable e) {
+                        // Error 도 여기서 멈춰야 한다. 스레드가 죽으면 이 리스너의 이벤트가 모두 멈춘다
+                        log.error("주문 이벤트 처리 실패: {}", listener.getClass().getSimpleName(), e);
+                    }
+                }
+                shard.consumed(consumer, to - 1);
+                next[s] = to;
+                worked = true;
+            }
+
+            if (worked) {
+                idle = 0;
+            } else if (!running) {
+                return;
+            } else {
+                idle = backoff(idle);
+            }
+        }
+    }
+
+    // 잠깐 돌다가 양보하고, 그래도 일이 없으면 잠드는 시간을 두 배씩 늘려 최대 1ms 까지 잔다.
+    // 한가한 소비자가 코어를 계속 깨우지 않게 하는 대신, 오래 쉬던 소비자는 첫 이벤트를 최대 1ms 늦게 본다
+    static int backoff(int idle) {
+        if (idle < SPINS) {
+            Thread.onSpinWait();
+        } else if (idle < SPINS + YIELDS) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(parkNanos(idle));
+        }
+        return Math.min(idle + 1, SPINS + YIELDS + PARK_STEPS);
+    }
+
+    static long parkNanos(int idle) {
+        int step = Math.min(idle - SPINS - YIELDS, PARK_STEPS);
+        return Math.min(MIN_PARK_NANOS << Math.max(step, 0), MAX_PARK_NANOS);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static final class Shard {
+        private final OrderEvent[] events;
+        private final int mask;
+        private final AtomicLongArray published;
+        private final AtomicLong claim = new AtomicLong();
+        private final AtomicLongArray consumed;
+        private volatile long cachedGatingSequence = -1;
+        // 생산자가 기다리다 포기했을 때의 가장 느린 소비 위치
+        private volatile long stalledAt = Long.MIN_VALUE;
+
+        Shard(int bufferSize, int consumers) {
+            this.events = new OrderEvent[bufferSize];
+            this.mask = bufferSize - 1;
+            this.published = new AtomicLongArray(bufferSize);
+            this.consumed = new AtomicLongArray(consumers);
+            for (int i = 0; i < bufferSize; i++) {
+                published.set(i, -1);
+            }
+            for (int i = 0; i < consumers; i++) {
+                consumed.set(i, -1);
+            }
+        }
+
+        // 자리가 날 때까지 timeoutNanos 까지만 기다린다. 자리를 잡기 전에 포기하므로 버린 이벤트가 시퀀스에 구멍을 남기지 않는다
+        boolean publish(OrderEvent event, long timeoutNanos) {
+            long seq;
+            long deadline = 0;
+            int idle = 0;
+            while (true) {
+                seq = claim.get();
+                long wrapPoint = seq - events.length;
+                // 가장 느린 소비자가 덮어쓸 칸을 아직 읽지 않았다면 기다린다
+                if (wrapPoint > cachedGatingSequence) {
+                    long gating = minConsumed();
+                    cachedGatingSequence = gating;
+                    if (wrapPoint > gating) {
+                        // 소비자가 같은 자리에 멈춰 있는 동안에는 다음 생산자들이 다시 기다리지 않고 바로 버린다
+                        if (gating == stalledAt) {
+                            return false;
+                        }
+                        if (idle == 0) {
+                            deadline = System.nanoTime() + timeoutNanos;
+                        } else if (System.nanoTime() - deadline > 0) {
+                            stalledAt = gating;
+                            return false;
+                        }
+                        idle = backoff(idle);
+                        continue;
+                    }
+                }
+                if (claim.compareAndSet(seq, seq + 1)) {
+                    break;
+                }
+            }
+            int index = (int) (seq & mask);
+            events[index] = event;
+            published.setRelease(index, seq);
+            return true;
+        }
+
+        long availableFrom(long from, int maxBatchSize) {
+            long to = from;
+            while (to - from < maxBatchSize && published.getAcquire((int) (to & mask)) == to) {
+                to++;
+            }
+            return to;
+        }
+
+        OrderEvent get(long seq) {
+            return events[(int) (seq & mask)];
+        }
+
+        void consumed(int consumer, long seq) {
+            consumed.setRelease(consumer, seq);
+        }
+
+        void detach(int consumer) {
+            consumed.setRelease(consumer, Long.MAX_VALUE);
+        }
+
+        private long minConsumed() {
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < consumed.length(); i++) {
+                min = Math.min(min, consumed.getAcquire(i));
+            }
+            return min;
+        }
+    }
+}
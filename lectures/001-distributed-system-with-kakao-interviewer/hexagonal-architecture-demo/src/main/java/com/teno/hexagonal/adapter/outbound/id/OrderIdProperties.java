@@ -0,0 +1,17 @@
+package com.teno.hexagonal.adapter.outbound.id;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+// 노드 ID 는 ID 안의 10bit 자리에 들어가므로, 같은 시각에 도는 인스턴스끼리 겹치지 않게 0~1023 에서 골라야 한다
+@ConfigurationProperties("order.id")
+public record OrderIdProperties(
+        @DefaultValue("0") long nodeId
+) {
+    public OrderIdProperties {
+        if (nodeId < 0 || nodeId > SnowflakeOrderIdGenerator.MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    "노드 ID는 0 이상 " + SnowflakeOrderIdGenerator.MAX_NODE_ID + " 이하여야 합니다: " + nodeId);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.teno.hexagonal.adapter.outbound.id;
+
+import com.teno.hexagonal.port.outbound.OrderIdGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// 41bit 타임스탬프 | 10bit 노드 ID | 12bit 시퀀스
+public class SnowflakeOrderIdGenerator implements OrderIdGenerator {
+    static final long EPOCH = 1735689600000L; // 2025-01-01T00:00:00Z
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+    // 마지막으로 발급한 (타임스탬프 << SEQUENCE_BITS | 시퀀스)
+    private final AtomicLong state = new AtomicLong();
+
+    public SnowflakeOrderIdGenerator(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("노드 ID는 0 이상 " + MAX_NODE_ID + " 이하여야 합니다");
+        }
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long now = System.currentTimeMillis() - EPOCH;
+
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else if ((last & SEQUENCE_MASK) < SEQUENCE_MASK) {
+                // 같은 밀리초이거나 시계가 뒤로 간 경우 마지막 타임스탬프에서 시퀀스만 증가시킨다
+                next = last + 1;
+            } else {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 시간 버킷 링으로 최근 windowBuckets * bucketDuration 동안의 호출/실패 수를 집계한다.
+// 버킷이 재사용될 때의 초기화 경합은 근사치로 허용하고 잠금을 쓰지 않는다.
+// 상태가 바뀔 때마다 세대를 올리고, 호출은 시작할 때의 세대를 허가로 받아 결과와 함께 돌려준다.
+// 지난 세대에 시작한 호출의 결과는 지금 상태를 바꾸지 않으므로, CLOSED 때 시작한 호출이 HALF_OPEN 시험을 대신하지 못한다
+class CircuitBreaker {
+    static final int CLOSED = 0;
+    static final int OPEN = 1;
+    static final int HALF_OPEN = 2;
+    static final long REJECTED = -1;
+    private static final int STATE_BITS = 2;
+    private static final long STATE_MASK = (1 << STATE_BITS) - 1;
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final int buckets;
+    private final long bucketNanos;
+    private final long openNanos;
+
+    private final long origin = System.nanoTime();
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray calls;
+    private final AtomicLongArray failures;
+    // 상위 비트는 세대, 하위 2비트는 상태. 둘을 한 번의 CAS 로 바꾼다
+    private final AtomicLong stateAndGeneration = new AtomicLong(CLOSED);
+    private volatile long openedAt;
+    private final LongAdder trips = new LongAdder();
+
+    CircuitBreaker(double failureRateThreshold, int minimumCalls, int buckets, long bucketNanos, long openNanos) {
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.buckets = buckets;
+        this.bucketNanos = bucketNanos;
+        this.openNanos = openNanos;
+        this.epochs = new AtomicLongArray(buckets);
+        this.calls = new AtomicLongArray(buckets);
+        this.failures = new AtomicLongArray(buckets);
+    }
+
+    // 통과하면 onSuccess/onFailure 에 넘길 허가를, 막히면 REJECTED 를 돌려준다
+    long tryAcquire() {
+        long current = stateAndGeneration.get();
+        int state = state(current);
+        if (state == CLOSED) {
+            return current;
+        }
+        // 열린 지 openDuration 이 지나면 한 호출만 시험 삼아 통과시킨다
+        if (state == OPEN && System.nanoTime() - openedAt >= openNanos) {
+            long trial = next(current, HALF_OPEN);
+            if (stateAndGeneration.compareAndSet(current, trial)) {
+                return trial;
+            }
+        }
+        return REJECTED;
+    }
+
+    void onSuccess(long permit) {
+        if (state(permit) == HALF_OPEN) {
+            if (stateAndGeneration.compareAndSet(permit, next(permit, CLOSED))) {
+                reset();
+            }
+            return;
+        }
+        if (stateAndGeneration.get() == permit) {
+            record(false);
+        }
+    }
+
+    void onFailure(long permit) {
+        if (state(permit) == HALF_OPEN) {
+            trip(permit);
+            return;
+        }
+        if (stateAndGeneration.get() != permit) {
+            return;
+        }
+        record(true);
+
+        long totalCalls = 0;
+        long totalFailures = 0;
+        long currentEpoch = epoch();
+        for (int i = 0; i < buckets; i++) {
+            if (currentEpoch - epochs.get(i) < buckets) {
+                totalCalls += calls.get(i);
+                totalFailures += failures.get(i);
+            }
+        }
+        if (totalCalls >= minimumCalls && totalFailures >= totalCalls * failureRateThreshold) {
+            trip(permit);
+        }
+    }
+
+    int state() {
+        return state(stateAndGeneration.get());
+    }
+
+    long trips() {
+        return trips.sum();
+    }
+
+    private void trip(long from) {
+        if (stateAndGeneration.compareAndSet(from, next(from, OPEN))) {
+            openedAt = System.nanoTime();
+            trips.increment();
+            reset();
+        }
+    }
+
+    private void record(boolean failure) {
+        long epoch = epoch();
+        int index = (int) (epoch % buckets);
+        long seen = epochs.get(index);
+        if (seen != epoch && epochs.compareAndSet(index, seen, epoch)) {
+            calls.set(index, 0);
+            failures.set(index, 0);
+        }
+        calls.incrementAndGet(index);
+        if (failure) {
+            failures.incrementAndGet(index);
+        }
+    }
+
+    private static int state(long stateAndGeneration) {
+        return (int) (stateAndGeneration & STATE_MASK);
+    }
+
+    private static long next(long current, int state) {
+        return ((current >>> STATE_BITS) + 1) << STATE_BITS | state;
+    }
+
+    private long epoch() {
+        return (System.nanoTime() - origin) / bucketNanos;
+    }
+
+    private void reset() {
+        for (int i = 0; i < buckets; i++) {
+            calls.set(i, 0);
+            failures.set(i, 0);
+        }
+    }
+}
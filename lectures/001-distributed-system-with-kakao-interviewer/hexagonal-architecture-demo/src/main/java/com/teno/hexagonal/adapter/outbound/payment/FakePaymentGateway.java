@@ -1,35 +1,148 @@
 package com.teno.hexagonal.adapter.outbound.payment;
 
 import com.teno.hexagonal.port.outbound.PaymentGateway;
-import org.springframework.stereotype.Repository;
+import com.teno.hexagonal.port.outbound.PaymentRequest;
 
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
 
-@Repository
 public class FakePaymentGateway implements PaymentGateway {
-    private Map<String, Object> payments;
+    private final FakePaymentGatewayProperties properties;
+    private final PaymentLedger ledger = new PaymentLedger();
+    private final AtomicLong transactionSequence = new AtomicLong();
+
+    // 같은 seed 로 같은 순서의 호출을 재현할 수 있도록 난수는 하나의 생성기에서 잠금 아래 뽑는다
+    private final SplittableRandom random;
+    private final ReentrantLock randomLock = new ReentrantLock();
+
+    private final Semaphore permits;
+    private final AtomicInteger admitted = new AtomicInteger();
+    private final Executor waiters = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("fake-payment-", 0).factory());
 
     public FakePaymentGateway() {
-        this.payments = new HashMap<>();
+        this(FakePaymentGatewayProperties.defaults());
+    }
+
+    public FakePaymentGateway(FakePaymentGatewayProperties properties) {
+        this.properties = properties;
+        this.random = properties.seed() != null ? new SplittableRandom(properties.seed()) : new SplittableRandom();
+        this.permits = properties.maxConcurrency() > 0 ? new Semaphore(properties.maxConcurrency(), true) : null;
     }
 
     @Override
     public Map<String, Object> processPayment(String orderId, int amount) {
-        boolean isSuccess = Math.random() > 0.1;
+        Draw draw = draw();
 
-        if (isSuccess) {
-            Map<String, Object> newPayment = new HashMap<>();
-            newPayment.put("orderId", orderId);
-            newPayment.put("amount", amount);
-            newPayment.put("status", "COMPLETED");
-            newPayment.put("timestamp", new Date());
-            payments.put(orderId, newPayment);
+        acquire();
+        try {
+            sleep(delayNanos(draw));
+        } finally {
+            release();
+        }
+        return complete(draw, orderId, amount);
+    }
+
+    // 지연은 타이머로만 흉내 내므로 응답을 기다리는 동안 어떤 스레드도 잠들지 않는다.
+    // 동시 처리 한도를 흉내 낼 때는 자리가 날 때까지 기다려야 하므로 가상 스레드에서 동기 경로를 탄다
+    @Override
+    public CompletableFuture<Map<String, Object>> processPaymentAsync(String orderId, int amount) {
+        CompletableFuture<Map<String, Object>> future = new CompletableFuture<>();
+        if (permits != null) {
+            waiters.execute(() -> {
+                Draw draw = draw();
+                try {
+                    acquire();
+                    try {
+                        sleep(delayNanos(draw));
+                    } finally {
+                        release();
+                    }
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                    return;
+                }
+                respond(future, draw, orderId, amount);
+            });
+            return future;
+        }
+        Draw draw = draw();
+        long delayNanos = delayNanos(draw);
+        if (delayNanos <= 0) {
+            respond(future, draw, orderId, amount);
+        } else {
+            CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, Runnable::run)
+                    .execute(() -> respond(future, draw, orderId, amount));
+        }
+        return future;
+    }
+
+    // 호출자가 기한을 넘겨 포기했다면 승인하지 않는다. 확인한 뒤 승인하는 사이에 포기했다면 방금 승인한 거래를 되돌려,
+    // 주문은 실패했는데 고객에게는 청구된 상태가 남지 않게 한다
+    private void respond(CompletableFuture<Map<String, Object>> future, Draw draw, String orderId, int amount) {
+        if (future.isDone()) {
+            return;
+        }
+        Map<String, Object> result;
+        try {
+            result = complete(draw, orderId, amount);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            return;
+        }
+        if (!future.complete(result) && Boolean.TRUE.equals(result.get("success"))) {
+            ledger.reverse((String) result.get("transactionId"), System.currentTimeMillis());
+        }
+    }
+
+    // 묶음 하나가 한 번의 왕복(지연, 시간 초과, 동시 호출 자리)을 차지하고, 승인 여부는 건마다 뽑는다
+    @Override
+    public List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+        Draw draw = draw();
+
+        acquire();
+        try {
+            sleep(delayNanos(draw));
+        } finally {
+            release();
+        }
+        if (draw.timeout()) {
+            throw new RuntimeException("결제 게이트웨이 응답 시간이 초과되었습니다");
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>(requests.size());
+        for (PaymentRequest request : requests) {
+            results.add(authorize(approve(), request.orderId(), request.amount()));
+        }
+        return results;
+    }
+
+    private Map<String, Object> complete(Draw draw, String orderId, int amount) {
+        if (draw.timeout()) {
+            throw new RuntimeException("결제 게이트웨이 응답 시간이 초과되었습니다");
+        }
+        return authorize(draw.success(), orderId, amount);
+    }
+
+    private Map<String, Object> authorize(boolean approved, String orderId, int amount) {
+        if (approved) {
+            String transactionId = "TXN-" + transactionSequence.incrementAndGet();
+            ledger.record(PaymentRecord.completed(orderId, transactionId, amount, System.currentTimeMillis()));
 
             Map<String, Object> ret = new HashMap<>();
             ret.put("success", true);
-            ret.put("transactionId", "TXN-" + new Date());
+            ret.put("transactionId", transactionId);
             ret.put("message", "결제가 승인되었습니다");
 
             return ret;
@@ -44,23 +157,118 @@ public class FakePaymentGateway implements PaymentGateway {
 
     @Override
     public Map<String, Object> refundPayment(String orderId) {
-        Object payment = payments.get(orderId);
+        return refund(orderId, null);
+    }
+
+    @Override
+    public Map<String, Object> refundPayment(String orderId, int amount) {
+        return refund(orderId, amount);
+    }
+
+    private Map<String, Object> refund(String orderId, Integer amount) {
+        PaymentLedger.Refund refund = ledger.refund(orderId, amount, System.currentTimeMillis());
         Map<String, Object> ret = new HashMap<>();
 
-        if (!(payment instanceof Map)) {
+        if (refund == null) {
+            ret.put("success", false);
             ret.put("status", "NOT_FOUND");
+            ret.put("reason", "결제 내역이 없습니다");
             return ret;
         }
 
-        ret.put("status", payments.get("orderId"));
-        ret.put("transactionId", payments.get("amount"));
-        ret.put("message", payments.get("timestamp"));
+        PaymentRecord payment = refund.payment();
+        ret.put("success", refund.refunded() > 0);
+        ret.put("status", payment.status());
+        ret.put("transactionId", payment.transactionId());
+        ret.put("refundedAmount", refund.refunded());
+        ret.put("totalRefunded", payment.refundedAmount());
+        ret.put("refundableAmount", payment.refundableAmount());
+        if (refund.refunded() > 0) {
+            ret.put("message", "환불이 처리되었습니다");
+        } else {
+            ret.put("reason", "환불 가능 금액(" + payment.refundableAmount() + ")을 넘었습니다");
+        }
 
         return ret;
     }
 
     @Override
     public String getPaymentStatus(String orderId) {
-        return "";
+        PaymentRecord payment = ledger.findByOrderId(orderId);
+        return payment != null ? payment.status() : "NOT_FOUND";
+    }
+
+    private Draw draw() {
+        randomLock.lock();
+        try {
+            double outcome = random.nextDouble();
+            boolean timeout = outcome < properties.timeoutRate();
+            boolean success = outcome >= properties.timeoutRate() + properties.failureRate();
+            return new Draw(success, timeout, sampleLatencyNanos());
+        } finally {
+            randomLock.unlock();
+        }
+    }
+
+    private boolean approve() {
+        randomLock.lock();
+        try {
+            return random.nextDouble() >= properties.failureRate();
+        } finally {
+            randomLock.unlock();
+        }
+    }
+
+    private long delayNanos(Draw draw) {
+        return draw.timeout() ? properties.timeout().toNanos() : draw.latencyNanos();
+    }
+
+    private long sampleLatencyNanos() {
+        long median = properties.latency().toNanos();
+        return switch (properties.distribution()) {
+            case FIXED -> median;
+            case LOG_NORMAL -> logNormal(median);
+            case BIMODAL -> random.nextDouble() < properties.tailProbability()
+                    ? logNormal(properties.tailLatency().toNanos())
+                    : logNormal(median);
+        };
+    }
+
+    private long logNormal(long median) {
+        return (long) (median * Math.exp(properties.sigma() * random.nextGaussian()));
+    }
+
+    private void acquire() {
+        if (permits == null) {
+            return;
+        }
+        if (admitted.incrementAndGet() > properties.maxQueue() + properties.maxConcurrency()) {
+            admitted.decrementAndGet();
+            throw new RuntimeException("결제 게이트웨이 대기열이 가득 찼습니다");
+        }
+        permits.acquireUninterruptibly();
+    }
+
+    private void release() {
+        if (permits == null) {
+            return;
+        }
+        permits.release();
+        admitted.decrementAndGet();
+    }
+
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("결제 처리가 중단되었습니다", e);
+        }
+    }
+
+    private record Draw(boolean success, boolean timeout, long latencyNanos) {
     }
 }
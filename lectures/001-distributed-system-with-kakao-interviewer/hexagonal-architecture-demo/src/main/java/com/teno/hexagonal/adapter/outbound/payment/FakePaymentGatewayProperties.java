@@ -0,0 +1,26 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("payment.fake")
+public record FakePaymentGatewayProperties(
+        @DefaultValue("FIXED") LatencyDistribution distribution,
+        @DefaultValue("0ms") Duration latency,
+        @DefaultValue("0.5") double sigma,
+        @DefaultValue("1s") Duration tailLatency,
+        @DefaultValue("0.01") double tailProbability,
+        @DefaultValue("0.1") double failureRate,
+        @DefaultValue("0") double timeoutRate,
+        @DefaultValue("5s") Duration timeout,
+        @DefaultValue("0") int maxConcurrency,
+        @DefaultValue("1000") int maxQueue,
+        Long seed
+) {
+    public static FakePaymentGatewayProperties defaults() {
+        return new FakePaymentGatewayProperties(LatencyDistribution.FIXED, Duration.ZERO, 0.5, Duration.ofSeconds(1),
+                0.01, 0.1, 0, Duration.ofSeconds(5), 0, 1000, null);
+    }
+}
@@ -0,0 +1,10 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+public enum LatencyDistribution {
+    // 항상 latency
+    FIXED,
+    // 중앙값 latency, 형태 모수 sigma 인 로그 정규 분포
+    LOG_NORMAL,
+    // tail-probability 확률로 tail-latency, 나머지는 latency 를 중앙값으로 하는 로그 정규 분포
+    BIMODAL
+}
@@ -0,0 +1,78 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// 결제 기록은 거래 ID 로 두고, 주문 ID 로는 그 주문의 모든 거래 ID 를 승인 순서대로 찾는다.
+// 동시에 두 번 승인되어 한 건을 되돌린 주문도 남은 거래로 환불할 수 있어야 하므로 마지막 거래만 기억하지 않는다.
+// 환불은 거래 기록 하나에 대한 computeIfPresent 안에서 남은 금액을 확인하고 빼므로, 동시에 환불해도 결제 금액을 넘지 않는다
+class PaymentLedger {
+    private final ConcurrentMap<String, PaymentRecord> byTransactionId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<String>> transactionsByOrderId = new ConcurrentHashMap<>();
+
+    void record(PaymentRecord payment) {
+        byTransactionId.put(payment.transactionId(), payment);
+        transactionsByOrderId.computeIfAbsent(payment.orderId(), key -> new CopyOnWriteArrayList<>())
+                .add(payment.transactionId());
+    }
+
+    // 환불할 금액이 남은 첫 거래, 모두 환불되었다면 마지막 거래
+    PaymentRecord findByOrderId(String orderId) {
+        List<String> transactionIds = transactionsByOrderId.get(orderId);
+        if (transactionIds == null) {
+            return null;
+        }
+        PaymentRecord last = null;
+        for (String transactionId : transactionIds) {
+            last = byTransactionId.get(transactionId);
+            if (last.refundableAmount() > 0) {
+                return last;
+            }
+        }
+        return last;
+    }
+
+    PaymentRecord findByTransactionId(String transactionId) {
+        return byTransactionId.get(transactionId);
+    }
+
+    // amount 가 null 이면 남은 금액을 모두 환불한다. 승인 순서대로 남은 금액이 충분한 첫 거래에서 뺀다.
+    // 그런 거래가 없으면 바꾸지 않고 findByOrderId 가 고를 거래와 refunded=0 을 돌려준다
+    Refund refund(String orderId, Integer amount, long timestamp) {
+        List<String> transactionIds = transactionsByOrderId.get(orderId);
+        if (transactionIds == null) {
+            return null;
+        }
+        PaymentRecord rejected = null;
+        for (String transactionId : transactionIds) {
+            int[] refunded = new int[1];
+            PaymentRecord payment = byTransactionId.computeIfPresent(transactionId, (id, current) -> {
+                int requested = amount != null ? amount : current.refundableAmount();
+                if (requested <= 0 || requested > current.refundableAmount()) {
+                    return current;
+                }
+                refunded[0] = requested;
+                return current.refund(requested, timestamp);
+            });
+            if (refunded[0] > 0) {
+                return new Refund(payment, refunded[0]);
+            }
+            if (rejected == null || rejected.refundableAmount() == 0) {
+                rejected = payment;
+            }
+        }
+        return new Refund(rejected, 0);
+    }
+
+    // 호출자가 이미 포기한 승인처럼 없던 일이 되어야 하는 거래를 남은 금액 전부 환불해 되돌린다
+    void reverse(String transactionId, long timestamp) {
+        byTransactionId.computeIfPresent(transactionId, (id, current) -> current.refundableAmount() > 0
+                ? current.refund(current.refundableAmount(), timestamp)
+                : current);
+    }
+
+    record Refund(PaymentRecord payment, int refunded) {
+    }
+}
@@ -0,0 +1,22 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+public record PaymentRecord(String orderId, String transactionId, int amount, int refundedAmount, String status,
+                            long timestamp) {
+    public static final String COMPLETED = "COMPLETED";
+    public static final String PARTIALLY_REFUNDED = "PARTIALLY_REFUNDED";
+    public static final String REFUNDED = "REFUNDED";
+
+    static PaymentRecord completed(String orderId, String transactionId, int amount, long timestamp) {
+        return new PaymentRecord(orderId, transactionId, amount, 0, COMPLETED, timestamp);
+    }
+
+    public int refundableAmount() {
+        return amount - refundedAmount;
+    }
+
+    PaymentRecord refund(int refund, long timestamp) {
+        int refunded = refundedAmount + refund;
+        return new PaymentRecord(orderId, transactionId, amount, refunded,
+                refunded == amount ? REFUNDED : PARTIALLY_REFUNDED, timestamp);
+    }
+}
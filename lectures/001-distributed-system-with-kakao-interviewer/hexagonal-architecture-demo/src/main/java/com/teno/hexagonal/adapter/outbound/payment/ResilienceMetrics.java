@@ -0,0 +1,5 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+public record ResilienceMetrics(String circuitState, long calls, long failures, long timeouts,
+                                long bulkheadRejections, long circuitRejections, long circuitTrips) {
+}
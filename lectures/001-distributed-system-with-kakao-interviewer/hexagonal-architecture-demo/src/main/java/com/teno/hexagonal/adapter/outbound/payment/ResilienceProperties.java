@@ -0,0 +1,19 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("payment.resilience")
+public record ResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2s") Duration timeout,
+        @DefaultValue("100") int maxConcurrentCalls,
+        @DefaultValue("0.5") double failureRateThreshold,
+        @DefaultValue("20") int minimumCalls,
+        @DefaultValue("10") int windowBuckets,
+        @DefaultValue("1s") Duration bucketDuration,
+        @DefaultValue("5s") Duration openDuration
+) {
+}
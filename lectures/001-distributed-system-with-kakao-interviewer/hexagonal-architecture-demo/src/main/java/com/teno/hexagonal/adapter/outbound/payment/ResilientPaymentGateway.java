@@ -0,0 +1,165 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentRequest;
+import com.teno.hexagonal.port.outbound.PaymentUnavailableException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class ResilientPaymentGateway implements PaymentGateway, AutoCloseable {
+    private static final String[] STATES = {"CLOSED", "OPEN", "HALF_OPEN"};
+
+    private final PaymentGateway delegate;
+    private final long timeoutNanos;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final ExecutorService executor;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder bulkheadRejections = new LongAdder();
+    private final LongAdder circuitRejections = new LongAdder();
+
+    public ResilientPaymentGateway(PaymentGateway delegate, ResilienceProperties properties) {
+        this.delegate = delegate;
+        this.timeoutNanos = properties.timeout().toNanos();
+        this.bulkhead = new Semaphore(properties.maxConcurrentCalls());
+        this.circuitBreaker = new CircuitBreaker(properties.failureRateThreshold(), properties.minimumCalls(),
+                properties.windowBuckets(), properties.bucketDuration().toNanos(), properties.openDuration().toNanos());
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-call-", 0).factory());
+    }
+
+    @Override
+    public Map<String, Object> processPayment(String orderId, int amount) {
+        return call(() -> delegate.processPayment(orderId, amount));
+    }
+
+    // 묶음 호출도 차단기와 격벽에서는 한 번의 호출로 센다
+    @Override
+    public List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+        return call(() -> delegate.processPayments(requests));
+    }
+
+    // 동기 경로와 같은 차단기, 격벽, 기한을 적용하되 기다리는 스레드 없이 완료 콜백에서 결과를 센다
+    @Override
+    public CompletableFuture<Map<String, Object>> processPaymentAsync(String orderId, int amount) {
+        long permit;
+        try {
+            permit = acquire();
+        } catch (PaymentUnavailableException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        CompletableFuture<Map<String, Object>> call;
+        try {
+            call = delegate.processPaymentAsync(orderId, amount);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS).handle((result, e) -> {
+            bulkhead.release();
+            if (e == null) {
+                circuitBreaker.onSuccess(permit);
+                return result;
+            }
+            failures.increment();
+            circuitBreaker.onFailure(permit);
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof TimeoutException) {
+                timeouts.increment();
+                throw new RuntimeException("결제 게이트웨이 응답 시간이 초과되었습니다");
+            }
+            throw cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+        });
+    }
+
+    @Override
+    public Map<String, Object> refundPayment(String orderId) {
+        return call(() -> delegate.refundPayment(orderId));
+    }
+
+    @Override
+    public Map<String, Object> refundPayment(String orderId, int amount) {
+        return call(() -> delegate.refundPayment(orderId, amount));
+    }
+
+    @Override
+    public String getPaymentStatus(String orderId) {
+        return call(() -> delegate.getPaymentStatus(orderId));
+    }
+
+    public ResilienceMetrics metrics() {
+        return new ResilienceMetrics(STATES[circuitBreaker.state()], calls.sum(), failures.sum(), timeouts.sum(),
+                bulkheadRejections.sum(), circuitRejections.sum(), circuitBreaker.trips());
+    }
+
+    private <T> T call(Supplier<T> task) {
+        long permit = acquire();
+        try {
+            T result = invoke(task);
+            circuitBreaker.onSuccess(permit);
+            return result;
+        } catch (RuntimeException e) {
+            failures.increment();
+            circuitBreaker.onFailure(permit);
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    // 격벽 자리를 먼저 잡는다. 차단기를 먼저 통과시키면 HALF_OPEN 시험 호출이 격벽에서 거절될 때
+    // 결과를 남기지 못해 차단기가 HALF_OPEN 에 머문 채 모든 호출을 막는다
+    private long acquire() {
+        if (!bulkhead.tryAcquire()) {
+            bulkheadRejections.increment();
+            throw new PaymentUnavailableException("결제 게이트웨이 동시 호출 한도를 초과했습니다");
+        }
+        long permit = circuitBreaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            bulkhead.release();
+            circuitRejections.increment();
+            throw new PaymentUnavailableException("결제 게이트웨이가 일시적으로 차단되었습니다");
+        }
+        calls.increment();
+        return permit;
+    }
+
+    // 기한을 넘긴 호출은 호출 스레드를 붙잡지 않도록 가상 스레드에서 실행하고 기다리기만 한다
+    private <T> T invoke(Supplier<T> task) {
+        Future<T> future = executor.submit(task::get);
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timeouts.increment();
+            throw new RuntimeException("결제 게이트웨이 응답 시간이 초과되었습니다");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("결제 처리가 중단되었습니다", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+    }
+}
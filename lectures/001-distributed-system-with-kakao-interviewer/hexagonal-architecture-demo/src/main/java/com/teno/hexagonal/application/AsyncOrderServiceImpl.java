@@ -0,0 +1,52 @@
+package com.teno.hexagonal.application;
+
+import com.teno.hexagonal.application.metrics.OperationTimer;
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.port.inbound.AsyncOrderService;
+import com.teno.hexagonal.port.inbound.OrderResult;
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// 주문 조회와 상태 저장은 메모리 안에서 끝나므로 호출 스레드에서 바로 하고,
+// 게이트웨이 응답만 Future 로 기다린다. 응답 뒤의 후속 처리는 가상 스레드에서 돈다.
+// PaymentExecutor 의 동시 실행 제한은 받지 않는다. 이 경로까지 허가 대기열에 세우면 게이트웨이가 느려질 때
+// 대기가 끝없이 쌓이므로, 동시 호출 수는 ResilientPaymentGateway 의 벌크헤드가 넘치는 즉시 거절하는 방식으로 제한한다
+@Service
+public class AsyncOrderServiceImpl implements AsyncOrderService {
+    private final OrderServiceImpl orderService;
+    private final PaymentGateway paymentGateway;
+    private final Executor continuations;
+    private final OperationTimer processPaymentTimer;
+
+    public AsyncOrderServiceImpl(OrderServiceImpl orderService, PaymentGateway paymentGateway,
+                                 PaymentExecutor paymentExecutor, OrderMetrics metrics) {
+        this.orderService = orderService;
+        this.paymentGateway = paymentGateway;
+        this.continuations = paymentExecutor.continuations();
+        this.processPaymentTimer = metrics.timer("processPaymentAsync");
+    }
+
+    @Override
+    public CompletableFuture<OrderResult> processPayment(String orderId) {
+        return processPaymentTimer.timeAsync(() -> {
+            Order order = orderService.payableOrder(orderId);
+            return paymentGateway.processPaymentAsync(order.getId(), order.getAmount())
+                    .handleAsync((payment, e) -> {
+                        if (e != null) {
+                            throw orderService.paymentError(order, unwrap(e));
+                        }
+                        return orderService.settlePayment(order, payment);
+                    }, continuations);
+        }, result -> result.order().status());
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof RuntimeException runtime ? runtime : new RuntimeException(cause);
+    }
+}
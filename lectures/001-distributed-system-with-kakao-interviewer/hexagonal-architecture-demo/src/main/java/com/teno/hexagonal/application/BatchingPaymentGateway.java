@@ -0,0 +1,195 @@
+package com.teno.hexagonal.application;
+
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentRequest;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 동시에 들어온 단건 결제를 maxSize 건이 차거나 첫 건이 maxDelay 만큼 기다릴 때까지 모아 processPayments 한 번으로 보낸다.
+// 묶음 결과는 요청 순서대로 각 호출자의 Future 에 나눠 주고, 묶음 호출이 실패하면 그 묶음의 호출자 모두가 같은 예외를 받는다.
+// 호출자의 Future 에는 기한을 걸어 묶음 호출이 돌아오지 않아도 기다림이 끝나게 한다
+@Slf4j
+public class BatchingPaymentGateway implements PaymentGateway, AutoCloseable {
+    private final PaymentGateway delegate;
+    private final int maxSize;
+    private final long maxDelayNanos;
+    private final long timeoutNanos;
+    private final ScheduledExecutorService timer;
+    private final ExecutorService dispatcher;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Batch current;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder payments = new LongAdder();
+    private final LongAdder fullBatches = new LongAdder();
+
+    public BatchingPaymentGateway(PaymentGateway delegate, PaymentBatchProperties properties) {
+        if (properties.maxSize() < 1) {
+            throw new IllegalArgumentException("묶음 크기는 1 이상이어야 합니다");
+        }
+        this.delegate = delegate;
+        this.maxSize = properties.maxSize();
+        this.maxDelayNanos = properties.maxDelay().toNanos();
+        this.timeoutNanos = maxDelayNanos + properties.timeout().toNanos();
+        this.timer = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("payment-batcher").factory());
+        // 묶음 호출은 게이트웨이 응답을 기다리므로 묶음마다 가상 스레드 하나에서 보낸다
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-batch-", 0).factory());
+    }
+
+    @Override
+    public Map<String, Object> processPayment(String orderId, int amount) {
+        try {
+            return processPaymentAsync(orderId, amount).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> processPaymentAsync(String orderId, int amount) {
+        CompletableFuture<Map<String, Object>> result = new CompletableFuture<>();
+        Batch full = null;
+        lock.lock();
+        try {
+            if (current == null) {
+                Batch batch = new Batch(maxSize);
+                current = batch;
+                if (maxSize > 1) {
+                    timer.schedule(() -> flush(batch), maxDelayNanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            current.add(new PaymentRequest(orderId, amount), result);
+            if (current.size() >= maxSize) {
+                full = current;
+                current = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            fullBatches.increment();
+            dispatch(full);
+        }
+        return result.orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+        return delegate.processPayments(requests);
+    }
+
+    @Override
+    public Map<String, Object> refundPayment(String orderId) {
+        return delegate.refundPayment(orderId);
+    }
+
+    @Override
+    public Map<String, Object> refundPayment(String orderId, int amount) {
+        return delegate.refundPayment(orderId, amount);
+    }
+
+    @Override
+    public String getPaymentStatus(String orderId) {
+        return delegate.getPaymentStatus(orderId);
+    }
+
+    public PaymentBatchStats stats() {
+        long batchCount = batches.sum();
+        long paymentCount = payments.sum();
+        return new PaymentBatchStats(batchCount, paymentCount, fullBatches.sum(),
+                batchCount > 0 ? (double) paymentCount / batchCount : 0);
+    }
+
+    // 기한이 된 묶음이 그 사이 꽉 차서 이미 떠났다면 아무것도 하지 않는다
+    private void flush(Batch batch) {
+        lock.lock();
+        try {
+            if (current != batch) {
+                return;
+            }
+            current = null;
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        batches.increment();
+        payments.add(batch.size());
+        dispatcher.execute(() -> {
+            try {
+                List<Map<String, Object>> results = delegate.processPayments(batch.requests);
+                // 결과를 요청 순서로 짝지어야 하므로 수가 다르면 어느 결과가 누구의 것인지 알 수 없다
+                if (results.size() != batch.size()) {
+                    throw new IllegalStateException(
+                            "묶음 결제 결과 수(" + results.size() + ")가 요청 수(" + batch.size() + ")와 다릅니다");
+                }
+                for (int i = 0; i < batch.size(); i++) {
+                    deliver(batch.requests.get(i), batch.results.get(i), results.get(i));
+                }
+            } catch (RuntimeException e) {
+                batch.results.forEach(result -> result.completeExceptionally(e));
+            } finally {
+                // Error 처럼 위에서 잡지 못한 실패에도 기다리는 호출자를 남기지 않는다
+                for (CompletableFuture<Map<String, Object>> result : batch.results) {
+                    if (!result.isDone()) {
+                        result.completeExceptionally(new IllegalStateException("묶음 결제가 결과 없이 끝났습니다"));
+                    }
+                }
+            }
+        });
+    }
+
+    // 기한이 지나 호출자가 이미 실패로 끝난 결제가 승인되었다면, 주문은 실패했는데 청구만 남지 않도록 되돌린다
+    private void deliver(PaymentRequest request, CompletableFuture<Map<String, Object>> caller, Map<String, Object> result) {
+        if (caller.complete(result) || !Boolean.TRUE.equals(result.get("success"))) {
+            return;
+        }
+        try {
+            delegate.refundPayment(request.orderId());
+        } catch (RuntimeException e) {
+            log.error("기한을 넘긴 묶음 결제의 승인을 되돌리지 못했습니다: orderId={}", request.orderId(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        dispatcher.close();
+    }
+
+    private static final class Batch {
+        final List<PaymentRequest> requests;
+        final List<CompletableFuture<Map<String, Object>>> results;
+
+        Batch(int capacity) {
+            this.requests = new ArrayList<>(capacity);
+            this.results = new ArrayList<>(capacity);
+        }
+
+        void add(PaymentRequest request, CompletableFuture<Map<String, Object>> result) {
+            requests.add(request);
+            results.add(result);
+        }
+
+        int size() {
+            return requests.size();
+        }
+    }
+}
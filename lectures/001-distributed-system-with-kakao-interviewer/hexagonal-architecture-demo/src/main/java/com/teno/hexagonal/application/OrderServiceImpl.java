@@ -2,56 +2,114 @@ package com.teno.hexagonal.application;
 
 
 import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderErrorCode;
+import com.teno.hexagonal.domain.OrderEvent;
+import com.teno.hexagonal.domain.OrderException;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.inbound.BatchItemResult;
+import com.teno.hexagonal.port.inbound.BatchOrderResult;
+import com.teno.hexagonal.port.inbound.CreateOrderCommand;
+import com.teno.hexagonal.port.inbound.OrderResult;
 import com.teno.hexagonal.port.inbound.OrderService;
+import com.teno.hexagonal.port.inbound.OrderSummary;
+import com.teno.hexagonal.port.inbound.PaymentStatusResult;
+import com.teno.hexagonal.port.inbound.RefundResult;
+import com.teno.hexagonal.port.outbound.OrderEventPublisher;
+import com.teno.hexagonal.port.outbound.OrderIdGenerator;
 import com.teno.hexagonal.port.outbound.OrderRepository;
+import com.teno.hexagonal.port.outbound.OrderVersionConflictException;
 import com.teno.hexagonal.port.outbound.PaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentUnavailableException;
 import org.springframework.stereotype.Service;
 
-import java.util.Date;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Service
 public class OrderServiceImpl implements OrderService {
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_BATCH_SIZE = 1000;
+    static final int MAX_UPDATE_ATTEMPTS = 5;
+    static final int MAX_REFUND_ATTEMPTS = 3;
+
     private OrderRepository orderRepository;
     private PaymentGateway paymentGateway;
+    private OrderIdGenerator orderIdGenerator;
+    private PaymentExecutor paymentExecutor;
+    private OrderEventPublisher eventPublisher;
+    private final Set<String> paymentsInFlight = ConcurrentHashMap.newKeySet();
+    // 취소와 경합한 결제를 되돌리지 못한 주문 -> 마지막 실패 사유. 정산 때 수동으로 환불한다
+    private final Map<String, String> unrefundedPayments = new ConcurrentHashMap<>();
 
-    public OrderServiceImpl(OrderRepository orderRepository, PaymentGateway paymentGateway) {
+    public OrderServiceImpl(OrderRepository orderRepository, PaymentGateway paymentGateway,
+                            OrderIdGenerator orderIdGenerator, PaymentExecutor paymentExecutor,
+                            OrderEventPublisher eventPublisher) {
         this.orderRepository = orderRepository;
         this.paymentGateway = paymentGateway;
+        this.orderIdGenerator = orderIdGenerator;
+        this.paymentExecutor = paymentExecutor;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public Map<String, Object> createOrder(String userId, String productId, int amount) {
-        if (userId == null || productId == null || amount <= 0) {
-            throw new RuntimeException("유효하지 않은 주문 정보입니다");
+    public OrderResult createOrder(String userId, String productId, int amount) {
+        if (!isValidOrder(userId, productId, amount)) {
+            throw OrderException.INVALID_ORDER;
         }
 
-        String orderId = String.valueOf(new Date().getTime());
+        String orderId = Long.toString(orderIdGenerator.nextId());
         Order order = new Order(orderId, userId, productId, amount);
 
         orderRepository.save(order);
+        eventPublisher.publish(OrderEvent.of(OrderEvent.Type.CREATED, order));
+
+        return OrderResult.success("주문이 생성되었습니다.", OrderSummary.of(order));
+    }
+
+    @Override
+    public BatchOrderResult createOrders(List<CreateOrderCommand> commands) {
+        if (commands == null || commands.isEmpty() || commands.size() > MAX_BATCH_SIZE) {
+            throw new OrderException(OrderErrorCode.INVALID_REQUEST, "일괄 주문은 1건 이상 " + MAX_BATCH_SIZE + "건 이하여야 합니다");
+        }
 
-        Map<String, Object> ret = new HashMap<>();
-        Map<String, Object> ret2 = new HashMap<>();
-        ret.put("success", true);
-        ret.put("message", "주문이 생성되었습니다.");
-        ret2.put("id", order.getId());
-        ret2.put("userId", order.getUserId());
-        ret2.put("productId", order.getProductId());
-        ret2.put("amount", order.getAmount());
-        ret2.put("status", order.getStatus());
-        ret.put("order", ret2);
+        List<BatchItemResult> results = new ArrayList<>(commands.size());
+        List<Order> orders = new ArrayList<>(commands.size());
+        for (int i = 0; i < commands.size(); i++) {
+            CreateOrderCommand command = commands.get(i);
+            if (command == null || !isValidOrder(command.userId(), command.productId(), command.amount())) {
+                results.add(BatchItemResult.failure(i, "유효하지 않은 주문 정보입니다"));
+                continue;
+            }
+            Order order = new Order(Long.toString(orderIdGenerator.nextId()),
+                    command.userId(), command.productId(), command.amount());
+            orders.add(order);
+            results.add(BatchItemResult.success(i, OrderSummary.of(order)));
+        }
+
+        if (!orders.isEmpty()) {
+            orderRepository.saveAll(orders);
+            for (Order order : orders) {
+                eventPublisher.publish(OrderEvent.of(OrderEvent.Type.CREATED, order));
+            }
+        }
+        return BatchOrderResult.of(results);
+    }
 
-        return ret;
+    private static boolean isValidOrder(String userId, String productId, int amount) {
+        return userId != null && productId != null && amount > 0;
     }
 
     @Override
     public Order getOrder(String orderId) {
         Order order = orderRepository.findById(orderId);
         if (order == null) {
-            throw new RuntimeException("주문을 찾을 수 없습니다");
+            throw OrderException.ORDER_NOT_FOUND;
         }
         return order;
     }
@@ -63,73 +121,228 @@ public class OrderServiceImpl implements OrderService {
     }
 
     @Override
-    public Map<String, Object> processPayment(String orderId) {
+    public OrderPage getOrders(String cursor, int limit) {
+        checkPageSize(limit);
+        return orderRepository.findPage(cursor, limit);
+    }
+
+    @Override
+    public List<Order> getOrdersByUser(String userId, int limit) {
+        checkPageSize(limit);
+        return orderRepository.findByUserId(userId, limit);
+    }
+
+    @Override
+    public List<Order> getOrdersByStatus(OrderStatus status, int limit) {
+        checkPageSize(limit);
+        return orderRepository.findByStatus(status, limit);
+    }
+
+    @Override
+    public List<Order> getOrdersCreatedBetween(long fromMillis, long toMillis, int limit) {
+        checkPageSize(limit);
+        if (fromMillis > toMillis) {
+            throw new OrderException(OrderErrorCode.INVALID_REQUEST, "조회 시작 시각이 종료 시각보다 늦습니다");
+        }
+        return orderRepository.findByCreatedAtBetween(fromMillis, toMillis, limit);
+    }
+
+    private static void checkPageSize(int limit) {
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new OrderException(OrderErrorCode.INVALID_REQUEST, "페이지 크기는 1 이상 " + MAX_PAGE_SIZE + " 이하여야 합니다");
+        }
+    }
+
+    @Override
+    public OrderResult processPayment(String orderId) {
+        Order order = payableOrder(orderId);
+
+        Map<String, Object> paymentResult;
+        try {
+            paymentResult = paymentGateway.processPayment(order.getId(), order.getAmount());
+        } catch (RuntimeException e) {
+            throw paymentError(order, e);
+        }
+        return settlePayment(order, paymentResult);
+    }
+
+    // 아래 세 단계는 게이트웨이 응답을 기다리지 않는 AsyncOrderServiceImpl 과 함께 쓴다
+    Order payableOrder(String orderId) {
         Order order = orderRepository.findById(orderId);
 
         if (order == null) {
-            throw new RuntimeException("주문을 찾을 수 없습니다");
+            throw OrderException.ORDER_NOT_FOUND;
         }
 
         if (!order.canBePaid()) {
-            throw new RuntimeException("결제할 수 없는 주문입니다");
+            throw OrderException.NOT_PAYABLE;
         }
+        return order;
+    }
+
+    // 게이트웨이가 차단된 경우(PaymentUnavailableException)는 주문을 건드리지 않고 그대로 돌려준다
+    RuntimeException paymentError(Order order, RuntimeException e) {
+        if (e instanceof PaymentUnavailableException) {
+            return e;
+        }
+        transition(order, next -> next.markAsFailed(e.getMessage()), OrderEvent.Type.FAILED);
+        return new OrderException(OrderErrorCode.PAYMENT_FAILED, "결제 처리 중 오류가 발생했습니다: " + e.getMessage());
+    }
 
+    OrderResult settlePayment(Order order, Map<String, Object> paymentResult) {
+        String orderId = order.getId();
+        boolean success = (Boolean) paymentResult.get("success");
+        if (!success) {
+            String reason = (String) paymentResult.get("reason");
+            transition(order, next -> next.markAsFailed(reason), OrderEvent.Type.FAILED);
+            throw new OrderException(OrderErrorCode.PAYMENT_DECLINED, "결제 실패: " + reason);
+        }
+
+        Order paid;
         try {
-            Map<String, Object> paymentResult = paymentGateway.processPayment(
-                    order.getId(),
-                    order.getAmount()
-            );
-
-            boolean success = (Boolean) paymentResult.get("success");
-            if (success) {
-                order.markAsPaid();
-
-                orderRepository.update(order);
-
-                Map<String, Object> ret = new HashMap<>();
-                Map<String, Object> ret2 = new HashMap<>();
-                ret.put("success", true);
-                ret.put("message", "결제가 완료되었습니다");
-                ret2.put("id", order.getId());
-                ret2.put("status", order.getStatus());
-                ret2.put("amount", order.getAmount());
-                ret.put("order", ret2);
-
-                return ret;
-            } else {
-                String reason = (String) paymentResult.get("reason");
-                order.markAsFailed(reason);
-                orderRepository.update(order);
-
-                throw new RuntimeException("결제 실패: " + reason);
+            paid = transition(order, Order::markAsPaid, OrderEvent.Type.PAID);
+        } catch (RuntimeException e) {
+            // 승인받는 사이 주문이 취소되었다. 돈만 빠져나간 상태로 두지 않도록 환불한다
+            String refundFailure = reversePayment(orderId);
+            if (refundFailure != null) {
+                throw new OrderException(OrderErrorCode.REFUND_FAILED,
+                        "결제 중 주문 상태가 변경되었으나 환불하지 못해 정산 대상으로 기록했습니다: " + refundFailure);
             }
-        } catch (Exception e) {
-            order.markAsFailed(e.getMessage());
-            orderRepository.update(order);
-            throw e;
+            throw new OrderException(OrderErrorCode.PAYMENT_REFUNDED, "결제 중 주문 상태가 변경되어 환불했습니다: " + e.getMessage());
         }
+
+        return OrderResult.success("결제가 완료되었습니다", OrderSummary.payment(paid));
+    }
+
+    // 몇 번 다시 시도해도 환불하지 못하면 unrefundedPayments 에 남기고 실패 사유를 돌려준다. 성공하면 null
+    private String reversePayment(String orderId) {
+        String failure = null;
+        for (int attempt = 1; attempt <= MAX_REFUND_ATTEMPTS; attempt++) {
+            try {
+                Map<String, Object> refund = paymentGateway.refundPayment(orderId);
+                if (Boolean.TRUE.equals(refund.get("success"))) {
+                    unrefundedPayments.remove(orderId);
+                    return null;
+                }
+                failure = String.valueOf(refund.get("reason"));
+            } catch (RuntimeException e) {
+                failure = e.getMessage();
+            }
+        }
+        unrefundedPayments.put(orderId, failure);
+        return failure;
+    }
+
+    public Map<String, String> unrefundedPayments() {
+        return Collections.unmodifiableMap(unrefundedPayments);
+    }
+
+    @Override
+    public OrderResult submitPayment(String orderId) {
+        Order order = payableOrder(orderId);
+
+        if (!paymentsInFlight.add(orderId)) {
+            throw OrderException.PAYMENT_IN_PROGRESS;
+        }
+
+        // 결과는 주문 상태에 반영되므로 실패 예외는 여기서 삼킨다
+        paymentExecutor.submit(() -> processPayment(orderId))
+                .whenComplete((result, e) -> paymentsInFlight.remove(orderId));
+
+        return OrderResult.success("결제 요청이 접수되었습니다",
+                new OrderSummary(orderId, null, null, order.getAmount(), PaymentStatusResult.PROCESSING));
     }
 
     @Override
-    public Map<String, Object> cancelOrder(String orderId) {
+    public PaymentStatusResult getPaymentStatus(String orderId) {
         Order order = orderRepository.findById(orderId);
 
         if (order == null) {
-            throw new RuntimeException("주문을 찾을 수 없습니다");
+            throw OrderException.ORDER_NOT_FOUND;
         }
 
-        order.cancel();
+        if (paymentsInFlight.contains(orderId)) {
+            return new PaymentStatusResult(orderId, PaymentStatusResult.PROCESSING, null);
+        }
+        return new PaymentStatusResult(orderId, order.getStatus().name(), order.getFailureReason());
+    }
 
-        orderRepository.update(order);
+    @Override
+    public OrderResult cancelOrder(String orderId) {
+        Order order = orderRepository.findById(orderId);
 
-        Map<String, Object> ret = new HashMap<>();
-        Map<String, Object> ret2 = new HashMap<>();
-        ret.put("success", true);
-        ret.put("message", "주문이 취소되었습니다");
-        ret2.put("id", order.getId());
-        ret2.put("status", order.getStatus());
-        ret.put("order", ret2);
+        if (order == null) {
+            throw OrderException.ORDER_NOT_FOUND;
+        }
 
-        return ret;
+        Order canceled = transition(order, Order::cancel, OrderEvent.Type.CANCELED);
+
+        return OrderResult.success("주문이 취소되었습니다", OrderSummary.status(canceled));
+    }
+
+    @Override
+    public RefundResult refundOrder(String orderId, Integer amount) {
+        Order order = orderRepository.findById(orderId);
+
+        if (order == null) {
+            throw OrderException.ORDER_NOT_FOUND;
+        }
+
+        if (order.getStatus() != OrderStatus.PAID) {
+            throw new OrderException(OrderErrorCode.INVALID_STATE, "결제된 주문만 환불할 수 있습니다");
+        }
+
+        if (amount != null && (amount <= 0 || amount > order.getAmount())) {
+            throw new OrderException(OrderErrorCode.INVALID_REQUEST, "환불 금액은 1 이상 결제 금액 이하여야 합니다");
+        }
+
+        Map<String, Object> refund;
+        try {
+            refund = amount != null ? paymentGateway.refundPayment(orderId, amount) : paymentGateway.refundPayment(orderId);
+        } catch (PaymentUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new OrderException(OrderErrorCode.PAYMENT_FAILED, "환불 처리 중 오류가 발생했습니다: " + e.getMessage());
+        }
+
+        if (!Boolean.TRUE.equals(refund.get("success"))) {
+            throw new OrderException(OrderErrorCode.REFUND_REJECTED, "환불 실패: " + refund.get("reason"));
+        }
+
+        // 원장은 남은 금액을 원자적으로 빼므로, 남은 금액을 0 으로 만든 환불은 하나뿐이다
+        int refundable = (Integer) refund.get("refundableAmount");
+        if (refundable == 0) {
+            order = transition(order, Order::markAsRefunded, OrderEvent.Type.REFUNDED);
+        }
+
+        return new RefundResult(orderId, (String) refund.get("transactionId"), (Integer) refund.get("refundedAmount"),
+                (Integer) refund.get("totalRefunded"), refundable, (String) refund.get("status"), order.getStatus().name());
+    }
+
+    // 읽은 버전을 조건으로 사본을 저장한다. 충돌하면 다시 읽어서 상태 전이부터 다시 검사하므로,
+    // 먼저 반영된 결제나 취소와 양립할 수 없는 전이는 도메인 규칙에 걸려 실패한다.
+    // 이벤트에는 실제로 바꾼 저장본의 상태를 함께 싣고, 상태가 그대로인 전이(이미 취소된 주문의 재취소)는 알리지 않는다
+    private Order transition(Order order, Consumer<Order> change, OrderEvent.Type type) {
+        Order current = order;
+        for (int attempt = 1; ; attempt++) {
+            Order next = current.nextVersion();
+            change.accept(next);
+            try {
+                orderRepository.update(next, current.getVersion());
+            } catch (OrderVersionConflictException e) {
+                if (attempt >= MAX_UPDATE_ATTEMPTS) {
+                    throw e;
+                }
+                current = orderRepository.findById(order.getId());
+                if (current == null) {
+                    throw OrderException.ORDER_NOT_FOUND;
+                }
+                continue;
+            }
+            if (current.getStatus() != next.getStatus()) {
+                eventPublisher.publish(OrderEvent.of(type, current.getStatus(), next));
+            }
+            return next;
+        }
     }
 }
@@ -0,0 +1,16 @@
+package com.teno.hexagonal.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("payment.batch")
+public record PaymentBatchProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("32") int maxSize,
+        @DefaultValue("2ms") Duration maxDelay,
+        // 묶음에 넣은 뒤 결과를 기다리는 최대 시간. 묶음을 모으는 maxDelay 는 따로 더한다
+        @DefaultValue("5s") Duration timeout
+) {
+}
@@ -0,0 +1,4 @@
+package com.teno.hexagonal.application;
+
+public record PaymentBatchStats(long batches, long payments, long fullBatches, double averageBatchSize) {
+}
@@ -0,0 +1,50 @@
+package com.teno.hexagonal.application;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+// 비동기 결제 제출(submitPayment)만 이 허가를 거친다. 결과를 기다리는 결제(processPayment, AsyncOrderServiceImpl)는
+// 게이트웨이 앞의 ResilientPaymentGateway 벌크헤드로 제한된다
+@Component
+public class PaymentExecutor {
+    private final ExecutorService executor;
+    private final Semaphore permits;
+
+    public PaymentExecutor(PaymentExecutorProperties properties) {
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("payment-", 0).factory());
+        this.permits = new Semaphore(properties.maxConcurrency());
+    }
+
+    // 가상 스레드는 허가를 기다리는 동안 캐리어 스레드를 점유하지 않으므로 대기열 역할을 겸한다
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            permits.acquireUninterruptibly();
+            try {
+                return task.get();
+            } finally {
+                permits.release();
+            }
+        }, executor);
+    }
+
+    // 결제 응답 뒤의 짧은 후속 처리(상태 저장, 이벤트 발행)를 돌릴 곳. 허가는 받지 않는다
+    public Executor continuations() {
+        return executor;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
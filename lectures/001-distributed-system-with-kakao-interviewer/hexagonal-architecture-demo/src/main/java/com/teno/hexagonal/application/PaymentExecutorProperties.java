@@ -0,0 +1,15 @@
+package com.teno.hexagonal.application;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("order.payment")
+public record PaymentExecutorProperties(
+        @DefaultValue("256") int maxConcurrency
+) {
+    public PaymentExecutorProperties {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("결제 동시 실행 수는 1 이상이어야 합니다: " + maxConcurrency);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.teno.hexagonal.application.metrics;
+
+import com.teno.hexagonal.application.OrderServiceImpl;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.inbound.BatchOrderResult;
+import com.teno.hexagonal.port.inbound.CreateOrderCommand;
+import com.teno.hexagonal.port.inbound.OrderResult;
+import com.teno.hexagonal.port.inbound.OrderService;
+import com.teno.hexagonal.port.inbound.PaymentStatusResult;
+import com.teno.hexagonal.port.inbound.RefundResult;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// 결과 분류는 캡처하지 않는 람다와 메서드 참조만 쓰므로, 측정 때문에 호출마다 객체가 생기지 않는다
+@Primary
+@Service
+public class InstrumentedOrderService implements OrderService {
+    private static final String OK = "OK";
+    private static final String PARTIAL = "PARTIAL";
+
+    private enum Operation {
+        CREATE_ORDER("createOrder"),
+        CREATE_ORDERS("createOrders"),
+        GET_ORDER("getOrder"),
+        GET_ALL_ORDERS("getAllOrders"),
+        GET_ORDERS("getOrders"),
+        GET_ORDERS_BY_USER("getOrdersByUser"),
+        GET_ORDERS_BY_STATUS("getOrdersByStatus"),
+        GET_ORDERS_CREATED_BETWEEN("getOrdersCreatedBetween"),
+        PROCESS_PAYMENT("processPayment"),
+        SUBMIT_PAYMENT("submitPayment"),
+        GET_PAYMENT_STATUS("getPaymentStatus"),
+        CANCEL_ORDER("cancelOrder"),
+        REFUND_ORDER("refundOrder");
+
+        private final String metricName;
+
+        Operation(String metricName) {
+            this.metricName = metricName;
+        }
+    }
+
+    private final OrderService delegate;
+    private final Map<Operation, OperationTimer> timers = new EnumMap<>(Operation.class);
+
+    public InstrumentedOrderService(OrderServiceImpl delegate, OrderMetrics metrics) {
+        this.delegate = delegate;
+        for (Operation operation : Operation.values()) {
+            timers.put(operation, metrics.timer(operation.metricName));
+        }
+        metrics.registerGauge("payments.unrefunded", delegate::unrefundedPayments);
+    }
+
+    @Override
+    public OrderResult createOrder(String userId, String productId, int amount) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.CREATE_ORDER).succeeded(start, delegate.createOrder(userId, productId, amount),
+                    InstrumentedOrderService::orderStatus);
+        } catch (RuntimeException e) {
+            throw timer(Operation.CREATE_ORDER).failed(start, e);
+        }
+    }
+
+    @Override
+    public BatchOrderResult createOrders(List<CreateOrderCommand> commands) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.CREATE_ORDERS).succeeded(start, delegate.createOrders(commands),
+                    result -> result.success() ? OK : PARTIAL);
+        } catch (RuntimeException e) {
+            throw timer(Operation.CREATE_ORDERS).failed(start, e);
+        }
+    }
+
+    @Override
+    public Order getOrder(String orderId) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.GET_ORDER).succeeded(start, delegate.getOrder(orderId),
+                    order -> order.getStatus().name());
+        } catch (RuntimeException e) {
+            throw timer(Operation.GET_ORDER).failed(start, e);
+        }
+    }
+
+    @Override
+    public List<Order> getAllOrders() {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.GET_ALL_ORDERS).succeeded(start, delegate.getAllOrders(),
+                    InstrumentedOrderService::ok);
+        } catch (RuntimeException e) {
+            throw timer(Operation.GET_ALL_ORDERS).failed(start, e);
+        }
+    }
+
+    @Override
+    public OrderPage getOrders(String cursor, int limit) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.GET_ORDERS).succeeded(start, delegate.getOrders(cursor, limit),
+                    InstrumentedOrderService::ok);
+        } catch (RuntimeException e) {
+            throw timer(Operation.GET_ORDERS).failed(start, e);
+        }
+    }
+
+    @Override
+    public List<Order> getOrdersByUser(String userId, int limit) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.GET_ORDERS_BY_USER).succeeded(start, delegate.getOrdersByUser(userId, limit),
+                    InstrumentedOrderService::ok);
+        } catch (RuntimeException e) {
+            throw timer(Operation.GET_ORDERS_BY_USER).failed(start, e);
+        }
+    }
+
+    @Override
+    public List<Order> getOrdersByStatus(OrderStatus status, int limit) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.GET_ORDERS_BY_STATUS).succeeded(start, delegate.getOrdersByStatus(status, limit),
+                    InstrumentedOrderService::ok);
+        } catch (RuntimeException e) {
+            throw timer(Operation.GET_ORDERS_BY_STATUS).failed(start, e);
+        }
+    }
+
+    @Override
+    public List<Order> getOrdersCreatedBetween(long fromMillis, long toMillis, int limit) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.GET_ORDERS_CREATED_BETWEEN).succeeded(start,
+                    delegate.getOrdersCreatedBetween(fromMillis, toMillis, limit), InstrumentedOrderService::ok);
+        } catch (RuntimeException e) {
+            throw timer(Operation.GET_ORDERS_CREATED_BETWEEN).failed(start, e);
+        }
+    }
+
+    @Override
+    public OrderResult processPayment(String orderId) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.PROCESS_PAYMENT).succeeded(start, delegate.processPayment(orderId),
+                    InstrumentedOrderService::orderStatus);
+        } catch (RuntimeException e) {
+            throw timer(Operation.PROCESS_PAYMENT).failed(start, e);
+        }
+    }
+
+    @Override
+    public OrderResult submitPayment(String orderId) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.SUBMIT_PAYMENT).succeeded(start, delegate.submitPayment(orderId),
+                    InstrumentedOrderService::orderStatus);
+        } catch (RuntimeException e) {
+            throw timer(Operation.SUBMIT_PAYMENT).failed(start, e);
+        }
+    }
+
+    @Override
+    public PaymentStatusResult getPaymentStatus(String orderId) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.GET_PAYMENT_STATUS).succeeded(start, delegate.getPaymentStatus(orderId),
+                    PaymentStatusResult::status);
+        } catch (RuntimeException e) {
+            throw timer(Operation.GET_PAYMENT_STATUS).failed(start, e);
+        }
+    }
+
+    @Override
+    public OrderResult cancelOrder(String orderId) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.CANCEL_ORDER).succeeded(start, delegate.cancelOrder(orderId),
+                    InstrumentedOrderService::orderStatus);
+        } catch (RuntimeException e) {
+            throw timer(Operation.CANCEL_ORDER).failed(start, e);
+        }
+    }
+
+    @Override
+    public RefundResult refundOrder(String orderId, Integer amount) {
+        long start = System.nanoTime();
+        try {
+            return timer(Operation.REFUND_ORDER).succeeded(start, delegate.refundOrder(orderId, amount),
+                    RefundResult::paymentStatus);
+        } catch (RuntimeException e) {
+            throw timer(Operation.REFUND_ORDER).failed(start, e);
+        }
+    }
+
+    private OperationTimer timer(Operation operation) {
+        return timers.get(operation);
+    }
+
+    private static String orderStatus(OrderResult result) {
+        return result.order().status();
+    }
+
+    private static String ok(Object result) {
+        return OK;
+    }
+}
@@ -0,0 +1,87 @@
+package com.teno.hexagonal.application.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// HdrHistogram 과 같은 로그-선형 버킷. 2의 거듭제곱 구간마다 16개의 하위 버킷을 두어 상대 오차는 약 6% 이다.
+// 스레드마다 다른 줄(stripe)에 기록하므로 기록 경로에 경합과 할당이 없다
+public class LatencyHistogram {
+    private static final int SUB_BITS = 4;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int MAX_MAGNITUDE = 40;
+    private static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BITS + 2) * SUB_COUNT;
+    private static final int STRIPES = Math.min(8, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+    private final AtomicLongArray counts = new AtomicLongArray(STRIPES * BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public void record(long nanos) {
+        long value = Math.clamp(nanos, 0, MAX_VALUE);
+        int stripe = (int) Thread.currentThread().threadId() & (STRIPES - 1);
+        counts.getAndIncrement(stripe * BUCKETS + index(value));
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    public LatencySnapshot snapshot() {
+        long[] merged = new long[BUCKETS];
+        long count = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                long c = counts.get(stripe * BUCKETS + bucket);
+                merged[bucket] += c;
+                count += c;
+            }
+        }
+        long maxNanos = max.get();
+        double meanMicros = count == 0 ? 0 : total.sum() / (double) count / 1_000;
+        return new LatencySnapshot(count, meanMicros,
+                micros(Math.min(percentile(merged, count, 0.50), maxNanos)),
+                micros(Math.min(percentile(merged, count, 0.90), maxNanos)),
+                micros(Math.min(percentile(merged, count, 0.99), maxNanos)),
+                micros(Math.min(percentile(merged, count, 0.999), maxNanos)),
+                micros(maxNanos));
+    }
+
+    static int index(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BITS;
+        return (shift + 1) * SUB_COUNT + (int) ((value >>> shift) & (SUB_COUNT - 1));
+    }
+
+    // 버킷에 들어갈 수 있는 가장 큰 값
+    static long highestValue(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_COUNT - 1;
+        long lowest = (long) (SUB_COUNT + index % SUB_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+
+    private static long percentile(long[] buckets, long count, double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return highestValue(i);
+            }
+        }
+        return MAX_VALUE;
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
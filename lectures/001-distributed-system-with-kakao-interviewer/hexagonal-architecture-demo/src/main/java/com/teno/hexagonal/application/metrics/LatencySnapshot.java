@@ -0,0 +1,5 @@
+package com.teno.hexagonal.application.metrics;
+
+public record LatencySnapshot(long count, double meanMicros, long p50Micros, long p90Micros,
+                              long p99Micros, long p999Micros, long maxMicros) {
+}
@@ -0,0 +1,55 @@
+package com.teno.hexagonal.application.metrics;
+
+import com.teno.hexagonal.domain.OrderException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// 연산 하나의 지연 히스토그램과 결과 카운터. 이름으로 찾는 일은 만들 때 한 번뿐이다
+public final class OperationTimer {
+    private final LatencyHistogram latency;
+    private final ConcurrentMap<String, LongAdder> outcomes;
+
+    OperationTimer(LatencyHistogram latency, ConcurrentMap<String, LongAdder> outcomes) {
+        this.latency = latency;
+        this.outcomes = outcomes;
+    }
+
+    // 동기 호출은 호출자가 start 를 직접 재고 이 둘 중 하나로 끝낸다. 호출마다 람다를 만들지 않기 위해서다
+    public <T> T succeeded(long start, T result, Function<? super T, String> outcome) {
+        OrderMetrics.count(outcomes, outcome.apply(result));
+        latency.record(System.nanoTime() - start);
+        return result;
+    }
+
+    public RuntimeException failed(long start, RuntimeException e) {
+        OrderMetrics.count(outcomes, errorOutcome(e));
+        latency.record(System.nanoTime() - start);
+        return e;
+    }
+
+    // Future 가 끝날 때까지를 잰다. 호출 자체가 던진 예외도 실패한 Future 로 돌려준다
+    public <T> CompletableFuture<T> timeAsync(Supplier<CompletableFuture<T>> call, Function<? super T, String> outcome) {
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = call.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result.whenComplete((value, e) -> {
+            OrderMetrics.count(outcomes, e == null ? outcome.apply(value) : errorOutcome(e));
+            latency.record(System.nanoTime() - start);
+        });
+    }
+
+    // 예상된 도메인 오류는 오류 코드별로, 그 밖의 예외는 ERROR 로 센다
+    static String errorOutcome(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        return cause instanceof OrderException orderException ? orderException.getCode().name() : OrderMetrics.ERROR;
+    }
+}
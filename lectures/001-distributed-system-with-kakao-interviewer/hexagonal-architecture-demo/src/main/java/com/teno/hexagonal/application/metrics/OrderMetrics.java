@@ -0,0 +1,66 @@
+package com.teno.hexagonal.application.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class OrderMetrics {
+    public static final String ERROR = "ERROR";
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<String, ConcurrentMap<String, LongAdder>> outcomes = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<?>> gauges = new ConcurrentHashMap<>();
+
+    // 기록 경로에서 이름으로 찾지 않도록 호출 측은 반환된 히스토그램을 필드로 들고 있는다
+    public LatencyHistogram histogram(String name) {
+        return latencies.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    public ConcurrentMap<String, LongAdder> outcomes(String name) {
+        return outcomes.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+    }
+
+    public OperationTimer timer(String name) {
+        return new OperationTimer(histogram(name), outcomes(name));
+    }
+
+    public static void count(ConcurrentMap<String, LongAdder> outcomes, String outcome) {
+        LongAdder counter = outcomes.get(outcome);
+        if (counter == null) {
+            counter = outcomes.computeIfAbsent(outcome, key -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public void registerGauge(String name, Supplier<?> gauge) {
+        gauges.put(name, gauge);
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> latencySnapshot = new LinkedHashMap<>();
+        latencies.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> latencySnapshot.put(entry.getKey(), entry.getValue().snapshot()));
+
+        Map<String, Object> outcomeSnapshot = new LinkedHashMap<>();
+        outcomes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    Map<String, Long> counts = new LinkedHashMap<>();
+                    entry.getValue().forEach((outcome, counter) -> counts.put(outcome, counter.sum()));
+                    outcomeSnapshot.put(entry.getKey(), counts);
+                });
+
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("latencies", latencySnapshot);
+        snapshot.put("outcomes", outcomeSnapshot);
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.get()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,110 @@
+package com.teno.hexagonal.application.metrics;
+
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TimedPaymentGateway implements PaymentGateway {
+    private static final String APPROVED = "APPROVED";
+    private static final String DECLINED = "DECLINED";
+
+    private final PaymentGateway delegate;
+    private final LatencyHistogram processPaymentLatency;
+    private final ConcurrentMap<String, LongAdder> processPaymentOutcomes;
+    private final LatencyHistogram processPaymentsLatency;
+    private final LatencyHistogram refundPaymentLatency;
+    private final LatencyHistogram getPaymentStatusLatency;
+
+    public TimedPaymentGateway(PaymentGateway delegate, OrderMetrics metrics) {
+        this.delegate = delegate;
+        this.processPaymentLatency = metrics.histogram("gateway.processPayment");
+        this.processPaymentOutcomes = metrics.outcomes("gateway.processPayment");
+        this.processPaymentsLatency = metrics.histogram("gateway.processPayments");
+        this.refundPaymentLatency = metrics.histogram("gateway.refundPayment");
+        this.getPaymentStatusLatency = metrics.histogram("gateway.getPaymentStatus");
+    }
+
+    @Override
+    public Map<String, Object> processPayment(String orderId, int amount) {
+        long start = System.nanoTime();
+        try {
+            Map<String, Object> result = delegate.processPayment(orderId, amount);
+            OrderMetrics.count(processPaymentOutcomes, Boolean.TRUE.equals(result.get("success")) ? APPROVED : DECLINED);
+            return result;
+        } catch (RuntimeException e) {
+            OrderMetrics.count(processPaymentOutcomes, OrderMetrics.ERROR);
+            throw e;
+        } finally {
+            processPaymentLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Object>> processPaymentAsync(String orderId, int amount) {
+        long start = System.nanoTime();
+        CompletableFuture<Map<String, Object>> call;
+        try {
+            call = delegate.processPaymentAsync(orderId, amount);
+        } catch (RuntimeException e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.whenComplete((result, e) -> {
+            OrderMetrics.count(processPaymentOutcomes, e != null ? OrderMetrics.ERROR
+                    : Boolean.TRUE.equals(result.get("success")) ? APPROVED : DECLINED);
+            processPaymentLatency.record(System.nanoTime() - start);
+        });
+    }
+
+    // 묶음 호출은 왕복 지연을 따로 재고, 승인/거절은 단건과 같은 곳에 건별로 센다
+    @Override
+    public List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+        long start = System.nanoTime();
+        try {
+            List<Map<String, Object>> results = delegate.processPayments(requests);
+            for (Map<String, Object> result : results) {
+                OrderMetrics.count(processPaymentOutcomes, Boolean.TRUE.equals(result.get("success")) ? APPROVED : DECLINED);
+            }
+            return results;
+        } catch (RuntimeException e) {
+            OrderMetrics.count(processPaymentOutcomes, OrderMetrics.ERROR);
+            throw e;
+        } finally {
+            processPaymentsLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map<String, Object> refundPayment(String orderId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.refundPayment(orderId);
+        } finally {
+            refundPaymentLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Map<String, Object> refundPayment(String orderId, int amount) {
+        long start = System.nanoTime();
+        try {
+            return delegate.refundPayment(orderId, amount);
+        } finally {
+            refundPaymentLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public String getPaymentStatus(String orderId) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getPaymentStatus(orderId);
+        } finally {
+            getPaymentStatusLatency.record(System.nanoTime() - start);
+        }
+    }
+}
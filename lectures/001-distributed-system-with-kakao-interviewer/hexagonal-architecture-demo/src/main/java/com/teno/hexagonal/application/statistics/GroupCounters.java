@@ -0,0 +1,23 @@
+package com.teno.hexagonal.application.statistics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+final class GroupCounters {
+    final LongAdder orders = new LongAdder();
+    final LongAdder paidOrders = new LongAdder();
+    final LongAdder revenue = new LongAdder();
+
+    void paid(int amount) {
+        paidOrders.increment();
+        revenue.add(amount);
+    }
+
+    void refunded(int amount) {
+        paidOrders.decrement();
+        revenue.add(-amount);
+    }
+
+    GroupStatistics snapshot(String key) {
+        return new GroupStatistics(key, orders.sum(), paidOrders.sum(), revenue.sum());
+    }
+}
@@ -0,0 +1,4 @@
+package com.teno.hexagonal.application.statistics;
+
+public record GroupStatistics(String key, long orders, long paidOrders, long revenue) {
+}
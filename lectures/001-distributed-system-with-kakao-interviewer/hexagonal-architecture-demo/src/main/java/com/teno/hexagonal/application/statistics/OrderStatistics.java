@@ -0,0 +1,162 @@
+package com.teno.hexagonal.application.statistics;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderEvent;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.outbound.OrderEventListener;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// 주문 이벤트를 받아 상태별/상품별/사용자별 건수와 매출을 그때그때 더해 둔다. findAll() 스캔은 시작할 때 한 번뿐이다.
+// 상위 N개 상품과 전체 요약은 주기적으로 다시 계산해 두므로 읽기는 참조 하나를 돌려주는 것으로 끝난다
+@Slf4j
+public class OrderStatistics implements OrderEventListener, AutoCloseable {
+    private static final Comparator<GroupStatistics> BY_REVENUE = Comparator.comparingLong(GroupStatistics::revenue)
+            .thenComparingLong(GroupStatistics::orders);
+
+    private final Map<OrderStatus, LongAdder> byStatus = new EnumMap<>(OrderStatus.class);
+    private final LongAdder revenue = new LongAdder();
+    private final ConcurrentMap<String, GroupCounters> byProduct = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, GroupCounters> byUser = new ConcurrentHashMap<>();
+    private final int topN;
+    private final ScheduledExecutorService refresher;
+    private volatile StatisticsSnapshot snapshot;
+    private volatile boolean dirty = true;
+
+    public OrderStatistics(Iterable<Order> existingOrders, OrderStatisticsProperties properties) {
+        for (OrderStatus status : OrderStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+        this.topN = properties.topN();
+        for (Order order : existingOrders) {
+            restore(order);
+        }
+        refresh();
+
+        this.refresher = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("order-statistics").factory());
+        long interval = properties.refreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshIfDirty, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void onEvent(OrderEvent event, boolean endOfBatch) {
+        // 상태가 그대로인 전이는 건수를 옮기지 않는다
+        if (event.previousStatus() == event.status()) {
+            return;
+        }
+        switch (event.type()) {
+            case CREATED -> {
+                byStatus.get(OrderStatus.PENDING).increment();
+                group(byProduct, event.productId()).orders.increment();
+                group(byUser, event.userId()).orders.increment();
+            }
+            case PAID -> {
+                move(event);
+                revenue.add(event.amount());
+                group(byProduct, event.productId()).paid(event.amount());
+                group(byUser, event.userId()).paid(event.amount());
+            }
+            case FAILED, CANCELED -> move(event);
+            // 전액 환불된 주문만 매출에서 뺀다. 부분 환불은 결제 게이트웨이 원장에만 남는다
+            case REFUNDED -> {
+                move(event);
+                revenue.add(-event.amount());
+                group(byProduct, event.productId()).refunded(event.amount());
+                group(byUser, event.userId()).refunded(event.amount());
+            }
+        }
+        dirty = true;
+    }
+
+    public StatisticsSnapshot summary() {
+        return snapshot;
+    }
+
+    public GroupStatistics product(String productId) {
+        GroupCounters counters = byProduct.get(productId);
+        return counters != null ? counters.snapshot(productId) : new GroupStatistics(productId, 0, 0, 0);
+    }
+
+    public GroupStatistics user(String userId) {
+        GroupCounters counters = byUser.get(userId);
+        return counters != null ? counters.snapshot(userId) : new GroupStatistics(userId, 0, 0, 0);
+    }
+
+    void refresh() {
+        dirty = false;
+        Map<OrderStatus, Long> statusCounts = new EnumMap<>(OrderStatus.class);
+        long orders = 0;
+        for (Map.Entry<OrderStatus, LongAdder> entry : byStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            statusCounts.put(entry.getKey(), count);
+            orders += count;
+        }
+
+        // 크기 N 인 최소 힙으로 상품 수가 많아도 O(P log N) 에 상위 N개를 고른다
+        PriorityQueue<GroupStatistics> top = new PriorityQueue<>(topN + 1, BY_REVENUE);
+        byProduct.forEach((productId, counters) -> {
+            top.add(counters.snapshot(productId));
+            if (top.size() > topN) {
+                top.poll();
+            }
+        });
+        List<GroupStatistics> topProducts = new ArrayList<>(top);
+        topProducts.sort(BY_REVENUE.reversed());
+
+        snapshot = new StatisticsSnapshot(orders, revenue.sum(), Collections.unmodifiableMap(statusCounts), List.copyOf(topProducts),
+                System.currentTimeMillis());
+    }
+
+    private void refreshIfDirty() {
+        try {
+            if (dirty) {
+                refresh();
+            }
+        } catch (RuntimeException e) {
+            log.error("주문 통계 갱신 실패", e);
+        }
+    }
+
+    private void restore(Order order) {
+        byStatus.get(order.getStatus()).increment();
+        GroupCounters product = group(byProduct, order.getProductId());
+        GroupCounters user = group(byUser, order.getUserId());
+        product.orders.increment();
+        user.orders.increment();
+        if (order.getStatus() == OrderStatus.PAID) {
+            revenue.add(order.getAmount());
+            product.paid(order.getAmount());
+            user.paid(order.getAmount());
+        }
+    }
+
+    // 이벤트에 실린 이전 상태에서 새 상태로 한 건을 옮긴다
+    private void move(OrderEvent event) {
+        byStatus.get(event.previousStatus()).decrement();
+        byStatus.get(event.status()).increment();
+    }
+
+    private static GroupCounters group(ConcurrentMap<String, GroupCounters> groups, String key) {
+        GroupCounters counters = groups.get(key);
+        return counters != null ? counters : groups.computeIfAbsent(key, k -> new GroupCounters());
+    }
+
+    @Override
+    public void close() {
+        refresher.shutdownNow();
+    }
+}
@@ -0,0 +1,13 @@
+package com.teno.hexagonal.application.statistics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("order.statistics")
+public record OrderStatisticsProperties(
+        @DefaultValue("10") int topN,
+        @DefaultValue("1s") Duration refreshInterval
+) {
+}
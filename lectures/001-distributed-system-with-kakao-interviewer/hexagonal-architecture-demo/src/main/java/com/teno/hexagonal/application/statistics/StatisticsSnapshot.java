@@ -0,0 +1,10 @@
+package com.teno.hexagonal.application.statistics;
+
+import com.teno.hexagonal.domain.OrderStatus;
+
+import java.util.List;
+import java.util.Map;
+
+public record StatisticsSnapshot(long orders, long revenue, Map<OrderStatus, Long> byStatus,
+                                 List<GroupStatistics> topProducts, long computedAt) {
+}
@@ -0,0 +1,20 @@
+package com.teno.hexagonal.config;
+
+import com.teno.hexagonal.adapter.inbound.http.IdempotencyProperties;
+import com.teno.hexagonal.adapter.inbound.http.IdempotencyStore;
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+public class IdempotencyConfig {
+
+    @Bean
+    public IdempotencyStore idempotencyStore(IdempotencyProperties properties, OrderMetrics metrics) {
+        IdempotencyStore store = new IdempotencyStore(properties);
+        metrics.registerGauge("idempotency", store::stats);
+        return store;
+    }
+}
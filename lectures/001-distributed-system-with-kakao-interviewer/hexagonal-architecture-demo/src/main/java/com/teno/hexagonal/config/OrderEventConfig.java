@@ -0,0 +1,23 @@
+package com.teno.hexagonal.config;
+
+import com.teno.hexagonal.adapter.outbound.event.OrderEventBusProperties;
+import com.teno.hexagonal.adapter.outbound.event.RingBufferOrderEventBus;
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import com.teno.hexagonal.port.outbound.OrderEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OrderEventBusProperties.class)
+public class OrderEventConfig {
+
+    @Bean
+    public RingBufferOrderEventBus orderEventBus(ObjectProvider<OrderEventListener> listeners,
+                                                 OrderEventBusProperties properties, OrderMetrics metrics) {
+        RingBufferOrderEventBus bus = new RingBufferOrderEventBus(listeners.orderedStream().toList(), properties);
+        metrics.registerGauge("events.dropped", bus::dropped);
+        return bus;
+    }
+}
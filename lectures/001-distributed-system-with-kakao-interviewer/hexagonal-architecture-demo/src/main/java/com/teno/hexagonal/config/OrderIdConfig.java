@@ -0,0 +1,18 @@
+package com.teno.hexagonal.config;
+
+import com.teno.hexagonal.adapter.outbound.id.OrderIdProperties;
+import com.teno.hexagonal.adapter.outbound.id.SnowflakeOrderIdGenerator;
+import com.teno.hexagonal.port.outbound.OrderIdGenerator;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OrderIdProperties.class)
+public class OrderIdConfig {
+
+    @Bean
+    public OrderIdGenerator orderIdGenerator(OrderIdProperties properties) {
+        return new SnowflakeOrderIdGenerator(properties.nodeId());
+    }
+}
@@ -0,0 +1,52 @@
+package com.teno.hexagonal.config;
+
+import com.teno.hexagonal.adapter.outbound.database.CachingOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.OrderCacheProperties;
+import com.teno.hexagonal.adapter.outbound.database.TieredOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.TieredProperties;
+import com.teno.hexagonal.adapter.outbound.database.WalOrderRepository;
+import com.teno.hexagonal.adapter.outbound.database.WalProperties;
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import com.teno.hexagonal.port.outbound.OrderRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({WalProperties.class, TieredProperties.class, OrderCacheProperties.class})
+public class OrderRepositoryConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "order.repository.type", havingValue = "memory", matchIfMissing = true)
+    public OrderRepository inMemoryOrderRepository(OrderCacheProperties cache, OrderMetrics metrics) {
+        return cached(new InMemoryOrderRepository(), cache, metrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "order.repository.type", havingValue = "wal")
+    public OrderRepository walOrderRepository(WalProperties properties, OrderCacheProperties cache,
+                                              OrderMetrics metrics) {
+        return cached(new WalOrderRepository(properties), cache, metrics);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "order.repository.type", havingValue = "tiered")
+    public OrderRepository tieredOrderRepository(TieredProperties properties, OrderCacheProperties cache,
+                                                 OrderMetrics metrics) {
+        TieredOrderRepository tiered = new TieredOrderRepository(properties);
+        metrics.registerGauge("repository.tiers", tiered::stats);
+        return cached(tiered, cache, metrics);
+    }
+
+    private static OrderRepository cached(OrderRepository repository, OrderCacheProperties cache,
+                                          OrderMetrics metrics) {
+        if (!cache.enabled()) {
+            return repository;
+        }
+        CachingOrderRepository caching = new CachingOrderRepository(repository, cache);
+        metrics.registerGauge("repository.cache", caching::stats);
+        return caching;
+    }
+}
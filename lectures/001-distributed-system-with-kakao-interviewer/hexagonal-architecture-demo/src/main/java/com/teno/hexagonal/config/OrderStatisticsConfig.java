@@ -0,0 +1,19 @@
+package com.teno.hexagonal.config;
+
+import com.teno.hexagonal.application.statistics.OrderStatistics;
+import com.teno.hexagonal.application.statistics.OrderStatisticsProperties;
+import com.teno.hexagonal.port.outbound.OrderRepository;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(OrderStatisticsProperties.class)
+public class OrderStatisticsConfig {
+
+    // 이벤트 버스의 리스너로 등록된다. 저장소에 이미 있는 주문(WAL 복구분)은 시작할 때 한 번 읽어 둔다
+    @Bean
+    public OrderStatistics orderStatistics(OrderRepository orderRepository, OrderStatisticsProperties properties) {
+        return new OrderStatistics(orderRepository.findAll(), properties);
+    }
+}
@@ -0,0 +1,39 @@
+package com.teno.hexagonal.config;
+
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGatewayProperties;
+import com.teno.hexagonal.adapter.outbound.payment.ResilienceProperties;
+import com.teno.hexagonal.adapter.outbound.payment.ResilientPaymentGateway;
+import com.teno.hexagonal.application.BatchingPaymentGateway;
+import com.teno.hexagonal.application.PaymentBatchProperties;
+import com.teno.hexagonal.application.PaymentExecutorProperties;
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import com.teno.hexagonal.application.metrics.TimedPaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties({FakePaymentGatewayProperties.class, ResilienceProperties.class,
+        PaymentBatchProperties.class, PaymentExecutorProperties.class})
+public class PaymentGatewayConfig {
+
+    @Bean
+    public PaymentGateway paymentGateway(FakePaymentGatewayProperties properties, ResilienceProperties resilience,
+                                         PaymentBatchProperties batch, OrderMetrics metrics) {
+        PaymentGateway gateway = new FakePaymentGateway(properties);
+        if (resilience.enabled()) {
+            ResilientPaymentGateway resilient = new ResilientPaymentGateway(gateway, resilience);
+            metrics.registerGauge("gateway.resilience", resilient::metrics);
+            gateway = resilient;
+        }
+        gateway = new TimedPaymentGateway(gateway, metrics);
+        if (batch.enabled()) {
+            BatchingPaymentGateway batching = new BatchingPaymentGateway(gateway, batch);
+            metrics.registerGauge("gateway.batching", batching::stats);
+            gateway = batching;
+        }
+        return gateway;
+    }
+}
@@ -2,64 +2,109 @@ package com.teno.hexagonal.domain;
 
 import lombok.Getter;
 
-import java.util.Date;
-
 @Getter
 public class Order {
     private String id;
     private String userId;
     private String productId;
     private int amount;
-    private String status;
-    private Date createdAt;
-    private Date updatedAt;
+    private OrderStatus status;
+    private long createdAt;
+    private long updatedAt;
+    // 실패한 주문에만 채워진다
     private String failureReason;
+    // 저장소에 반영될 때마다 1씩 오른다. 낙관적 잠금에 쓴다
+    private long version;
+
+    private static final OrderException NOT_PENDING_FOR_PAYMENT =
+            new OrderException(OrderErrorCode.INVALID_STATE, "대기 중인 주문만 결제할 수 있습니다");
+    private static final OrderException NOT_PENDING_FOR_FAILURE =
+            new OrderException(OrderErrorCode.INVALID_STATE, "대기 중인 주문만 실패 처리할 수 있습니다");
+    private static final OrderException ALREADY_PAID =
+            new OrderException(OrderErrorCode.INVALID_STATE, "이미 결제된 주문은 취소할 수 없습니다.");
+    private static final OrderException NOT_PAID_FOR_REFUND =
+            new OrderException(OrderErrorCode.INVALID_STATE, "결제된 주문만 환불할 수 있습니다");
 
     public Order(String id, String userId, String productId, int amount) {
-        this(id, userId, productId, amount, "PENDING");
+        this(id, userId, productId, amount, OrderStatus.PENDING);
     }
 
-    public Order(String id, String userId, String productId, int amount, String status) {
+    public Order(String id, String userId, String productId, int amount, OrderStatus status) {
         this.id = id;
         this.userId = userId;
         this.productId = productId;
         this.amount = amount;
-        this.status = status != null ? status : "PENDING";
-        this.failureReason = "";
-        this.createdAt = new Date();
-        this.updatedAt = new Date();
+        this.status = status != null ? status : OrderStatus.PENDING;
+        this.createdAt = System.currentTimeMillis();
+        this.updatedAt = this.createdAt;
+    }
+
+    private Order(String id, String userId, String productId, int amount, OrderStatus status,
+                  long createdAt, long updatedAt, String failureReason, long version) {
+        this.id = id;
+        this.userId = userId;
+        this.productId = productId;
+        this.amount = amount;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.failureReason = failureReason;
+        this.version = version;
+    }
+
+    public static Order restore(String id, String userId, String productId, int amount, OrderStatus status,
+                                long createdAt, long updatedAt, String failureReason) {
+        return restore(id, userId, productId, amount, status, createdAt, updatedAt, failureReason, 0);
+    }
+
+    public static Order restore(String id, String userId, String productId, int amount, OrderStatus status,
+                                long createdAt, long updatedAt, String failureReason, long version) {
+        return new Order(id, userId, productId, amount, status, createdAt, updatedAt, failureReason, version);
+    }
+
+    // 저장소에 있는 객체는 여러 스레드가 읽으므로 직접 바꾸지 않고, 버전을 올린 사본을 바꿔서 update(next, version) 한다
+    public Order nextVersion() {
+        return new Order(id, userId, productId, amount, status, createdAt, updatedAt, failureReason, version + 1);
     }
 
     public void markAsPaid() {
-        if (!this.status.equals("PENDING")) {
-            throw new RuntimeException("대기 중인 주문만 결제할 수 있습니다");
+        if (!this.status.canTransitionTo(OrderStatus.PAID)) {
+            throw NOT_PENDING_FOR_PAYMENT;
         }
-        this.status = "PAID";
-        this.updatedAt = new Date();
+        this.status = OrderStatus.PAID;
+        this.updatedAt = System.currentTimeMillis();
     }
 
     public void markAsFailed(String reason) {
-        if (!this.status.equals("PENDING")) {
-            throw new RuntimeException("대기 중인 주문만 실패 처리할 수 있습니다");
+        if (!this.status.canTransitionTo(OrderStatus.FAILED)) {
+            throw NOT_PENDING_FOR_FAILURE;
         }
-        this.status = "FAILED";
+        this.status = OrderStatus.FAILED;
         this.failureReason = reason;
-        this.updatedAt = new Date();
+        this.updatedAt = System.currentTimeMillis();
     }
 
     public void cancel() {
-        if (this.status.equals("PAID")) {
-            throw new RuntimeException("이미 결제된 주문은 취소할 수 없습니다.");
+        if (!this.status.canTransitionTo(OrderStatus.CANCELED)) {
+            throw ALREADY_PAID;
+        }
+        this.status = OrderStatus.CANCELED;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    public void markAsRefunded() {
+        if (!this.status.canTransitionTo(OrderStatus.REFUNDED)) {
+            throw NOT_PAID_FOR_REFUND;
         }
-        this.status = "CANCELED";
-        this.updatedAt = new Date();
+        this.status = OrderStatus.REFUNDED;
+        this.updatedAt = System.currentTimeMillis();
     }
 
     public boolean canBePaid() {
-        return this.status.equals("PENDING") && this.amount > 0;
+        return this.status == OrderStatus.PENDING && this.amount > 0;
     }
 
     public boolean canBeCancelled() {
-        return !this.status.equals("PAID");
+        return this.status.canTransitionTo(OrderStatus.CANCELED);
     }
-}
\ No newline at end of file
+}
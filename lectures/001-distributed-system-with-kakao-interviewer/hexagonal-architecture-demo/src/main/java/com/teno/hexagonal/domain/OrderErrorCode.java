@@ -0,0 +1,13 @@
+package com.teno.hexagonal.domain;
+
+public enum OrderErrorCode {
+    ORDER_NOT_FOUND,
+    INVALID_REQUEST,
+    INVALID_STATE,
+    PAYMENT_IN_PROGRESS,
+    PAYMENT_DECLINED,
+    PAYMENT_FAILED,
+    PAYMENT_REFUNDED,
+    REFUND_REJECTED,
+    REFUND_FAILED
+}
@@ -0,0 +1,22 @@
+package com.teno.hexagonal.domain;
+
+// previousStatus 는 이 전이가 실제로 바꾼 저장본의 상태다. 생성 이벤트에서는 null
+public record OrderEvent(Type type, String orderId, String userId, String productId, int amount,
+                         OrderStatus previousStatus, OrderStatus status, String failureReason, long timestamp) {
+    public enum Type {
+        CREATED,
+        PAID,
+        FAILED,
+        CANCELED,
+        REFUNDED
+    }
+
+    public static OrderEvent of(Type type, Order order) {
+        return of(type, null, order);
+    }
+
+    public static OrderEvent of(Type type, OrderStatus previousStatus, Order order) {
+        return new OrderEvent(type, order.getId(), order.getUserId(), order.getProductId(), order.getAmount(),
+                previousStatus, order.getStatus(), order.getFailureReason(), order.getUpdatedAt());
+    }
+}
@@ -0,0 +1,25 @@
+package com.teno.hexagonal.domain;
+
+// 주문을 찾지 못했거나 결제가 거절된 것처럼 예상된 결과를 알리는 예외.
+// 스택 트레이스를 채우지 않으므로 4xx 가 잦아도 비용이 거의 없고, 메시지가 고정된 것은 미리 만들어 둔 인스턴스를 재사용한다
+public class OrderException extends RuntimeException {
+    public static final OrderException ORDER_NOT_FOUND =
+            new OrderException(OrderErrorCode.ORDER_NOT_FOUND, "주문을 찾을 수 없습니다");
+    public static final OrderException INVALID_ORDER =
+            new OrderException(OrderErrorCode.INVALID_REQUEST, "유효하지 않은 주문 정보입니다");
+    public static final OrderException NOT_PAYABLE =
+            new OrderException(OrderErrorCode.INVALID_STATE, "결제할 수 없는 주문입니다");
+    public static final OrderException PAYMENT_IN_PROGRESS =
+            new OrderException(OrderErrorCode.PAYMENT_IN_PROGRESS, "이미 결제가 진행 중인 주문입니다");
+
+    private final OrderErrorCode code;
+
+    public OrderException(OrderErrorCode code, String message) {
+        super(message, null, false, false);
+        this.code = code;
+    }
+
+    public OrderErrorCode getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,9 @@
+package com.teno.hexagonal.domain;
+
+import java.util.List;
+
+public record OrderPage(List<Order> orders, String nextCursor) {
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
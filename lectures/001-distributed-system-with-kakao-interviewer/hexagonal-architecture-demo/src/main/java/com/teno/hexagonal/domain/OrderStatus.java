@@ -0,0 +1,23 @@
+package com.teno.hexagonal.domain;
+
+public enum OrderStatus {
+    PENDING,
+    PAID,
+    FAILED,
+    CANCELED,
+    // 결제 금액 전부가 환불된 주문. 부분 환불 중인 주문은 PAID 로 남는다
+    REFUNDED;
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return switch (next) {
+            case PAID, FAILED -> this == PENDING;
+            case CANCELED -> this != PAID && this != REFUNDED;
+            case REFUNDED -> this == PAID;
+            case PENDING -> false;
+        };
+    }
+
+    public boolean isTerminal() {
+        return this != PENDING;
+    }
+}
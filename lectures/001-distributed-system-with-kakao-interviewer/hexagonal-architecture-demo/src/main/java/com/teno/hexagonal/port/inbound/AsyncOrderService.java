@@ -0,0 +1,9 @@
+package com.teno.hexagonal.port.inbound;
+
+import java.util.concurrent.CompletableFuture;
+
+// 결제처럼 외부 응답을 기다리는 유스케이스를 스레드를 붙잡지 않고 처리한다.
+// 실패는 예외를 던지지 않고 OrderException 등으로 실패한 Future 로 돌려준다
+public interface AsyncOrderService {
+    CompletableFuture<OrderResult> processPayment(String orderId);
+}
@@ -0,0 +1,14 @@
+package com.teno.hexagonal.port.inbound;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchItemResult(int index, boolean success, OrderSummary order, String error) {
+    public static BatchItemResult success(int index, OrderSummary order) {
+        return new BatchItemResult(index, true, order, null);
+    }
+
+    public static BatchItemResult failure(int index, String error) {
+        return new BatchItemResult(index, false, null, error);
+    }
+}
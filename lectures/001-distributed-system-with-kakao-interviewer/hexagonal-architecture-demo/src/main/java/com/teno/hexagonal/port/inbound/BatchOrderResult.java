@@ -0,0 +1,10 @@
+package com.teno.hexagonal.port.inbound;
+
+import java.util.List;
+
+public record BatchOrderResult(boolean success, int created, int failed, List<BatchItemResult> results) {
+    public static BatchOrderResult of(List<BatchItemResult> results) {
+        int created = (int) results.stream().filter(BatchItemResult::success).count();
+        return new BatchOrderResult(created == results.size(), created, results.size() - created, results);
+    }
+}
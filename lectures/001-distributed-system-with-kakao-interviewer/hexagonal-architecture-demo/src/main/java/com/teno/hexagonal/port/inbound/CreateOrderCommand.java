@@ -0,0 +1,4 @@
+package com.teno.hexagonal.port.inbound;
+
+public record CreateOrderCommand(String userId, String productId, int amount) {
+}
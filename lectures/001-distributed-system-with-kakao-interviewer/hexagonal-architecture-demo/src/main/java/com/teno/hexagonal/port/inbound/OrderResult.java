@@ -0,0 +1,7 @@
+package com.teno.hexagonal.port.inbound;
+
+public record OrderResult(boolean success, String message, OrderSummary order) {
+    public static OrderResult success(String message, OrderSummary order) {
+        return new OrderResult(true, message, order);
+    }
+}
@@ -1,18 +1,36 @@
 package com.teno.hexagonal.port.inbound;
 
 import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
 
 import java.util.List;
-import java.util.Map;
 
 public interface OrderService {
-    Map<String, Object> createOrder(String userId, String productId, int amount);
+    OrderResult createOrder(String userId, String productId, int amount);
+
+    BatchOrderResult createOrders(List<CreateOrderCommand> commands);
 
     Order getOrder(String orderId);
 
     List<Order> getAllOrders();
 
-    Map<String, Object> processPayment(String orderId);
+    OrderPage getOrders(String cursor, int limit);
+
+    List<Order> getOrdersByUser(String userId, int limit);
+
+    List<Order> getOrdersByStatus(OrderStatus status, int limit);
+
+    List<Order> getOrdersCreatedBetween(long fromMillis, long toMillis, int limit);
+
+    OrderResult processPayment(String orderId);
+
+    OrderResult submitPayment(String orderId);
+
+    PaymentStatusResult getPaymentStatus(String orderId);
+
+    OrderResult cancelOrder(String orderId);
 
-    Map<String, Object> cancelOrder(String orderId);
+    // amount 가 null 이면 남은 결제 금액을 모두 환불한다
+    RefundResult refundOrder(String orderId, Integer amount);
 }
@@ -0,0 +1,19 @@
+package com.teno.hexagonal.port.inbound;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.teno.hexagonal.domain.Order;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderSummary(String id, String userId, String productId, Integer amount, String status) {
+    public static OrderSummary of(Order order) {
+        return new OrderSummary(order.getId(), order.getUserId(), order.getProductId(), order.getAmount(), order.getStatus().name());
+    }
+
+    public static OrderSummary payment(Order order) {
+        return new OrderSummary(order.getId(), null, null, order.getAmount(), order.getStatus().name());
+    }
+
+    public static OrderSummary status(Order order) {
+        return new OrderSummary(order.getId(), null, null, null, order.getStatus().name());
+    }
+}
@@ -0,0 +1,5 @@
+package com.teno.hexagonal.port.inbound;
+
+public record PaymentStatusResult(String orderId, String status, String failureReason) {
+    public static final String PROCESSING = "PROCESSING";
+}
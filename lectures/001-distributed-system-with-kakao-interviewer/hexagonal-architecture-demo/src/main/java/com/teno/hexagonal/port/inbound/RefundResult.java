@@ -0,0 +1,6 @@
+package com.teno.hexagonal.port.inbound;
+
+// refundedAmount 는 이번에 환불된 금액, totalRefunded 는 지금까지 환불된 금액이다
+public record RefundResult(String orderId, String transactionId, int refundedAmount, int totalRefunded,
+                           int refundableAmount, String paymentStatus, String orderStatus) {
+}
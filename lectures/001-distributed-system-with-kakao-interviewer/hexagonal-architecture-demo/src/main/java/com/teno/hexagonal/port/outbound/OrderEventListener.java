@@ -0,0 +1,8 @@
+package com.teno.hexagonal.port.outbound;
+
+import com.teno.hexagonal.domain.OrderEvent;
+
+public interface OrderEventListener {
+    // endOfBatch 가 true 이면 지금 꺼낼 수 있는 이벤트를 모두 전달한 것이므로 모아 둔 작업을 반영하기 좋은 시점이다
+    void onEvent(OrderEvent event, boolean endOfBatch);
+}
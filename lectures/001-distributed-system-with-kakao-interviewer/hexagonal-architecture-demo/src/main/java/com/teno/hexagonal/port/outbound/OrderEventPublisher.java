@@ -0,0 +1,7 @@
+package com.teno.hexagonal.port.outbound;
+
+import com.teno.hexagonal.domain.OrderEvent;
+
+public interface OrderEventPublisher {
+    void publish(OrderEvent event);
+}
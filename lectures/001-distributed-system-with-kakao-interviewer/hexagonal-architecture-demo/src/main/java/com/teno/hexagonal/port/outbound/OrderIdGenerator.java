@@ -0,0 +1,5 @@
+package com.teno.hexagonal.port.outbound;
+
+public interface OrderIdGenerator {
+    long nextId();
+}
@@ -1,17 +1,33 @@
 package com.teno.hexagonal.port.outbound;
 
 import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderPage;
+import com.teno.hexagonal.domain.OrderStatus;
 
 import java.util.List;
 
 public interface OrderRepository {
     Order save(Order order);
 
+    List<Order> saveAll(List<Order> orders);
+
     Order findById(String orderId);
 
     List<Order> findAll();
 
+    OrderPage findPage(String cursor, int limit);
+
+    List<Order> findByUserId(String userId, int limit);
+
+    List<Order> findByStatus(OrderStatus status, int limit);
+
+    List<Order> findByCreatedAtBetween(long fromMillis, long toMillis, int limit);
+
+    // order 는 저장된 객체를 고친 것이 아니라 새 사본(Order.nextVersion)이어야 한다. 저장소는 이전 저장본과 비교해 색인을 옮긴다
     Order update(Order order);
 
+    // 저장된 주문의 버전이 expectedVersion 일 때만 바꾼다. 아니면 OrderVersionConflictException
+    Order update(Order order, long expectedVersion);
+
     Order delete(String orderId);
 }
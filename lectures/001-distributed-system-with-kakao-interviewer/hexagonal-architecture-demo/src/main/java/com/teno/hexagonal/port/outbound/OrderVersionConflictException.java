@@ -0,0 +1,8 @@
+package com.teno.hexagonal.port.outbound;
+
+// 읽은 뒤 다른 요청이 먼저 주문을 바꾼 경우. 다시 읽어서 재시도할 수 있다
+public class OrderVersionConflictException extends RuntimeException {
+    public OrderVersionConflictException(String message) {
+        super(message);
+    }
+}
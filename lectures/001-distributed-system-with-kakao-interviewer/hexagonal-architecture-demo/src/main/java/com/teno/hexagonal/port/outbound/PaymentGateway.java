@@ -1,11 +1,37 @@
 package com.teno.hexagonal.port.outbound;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface PaymentGateway {
     Map<String, Object> processPayment(String orderId, int amount);
 
+    // 응답을 기다리는 동안 스레드를 붙잡지 않는 호출. 따로 구현하지 않은 게이트웨이는 호출 스레드에서 동기 호출을 감싼다
+    default CompletableFuture<Map<String, Object>> processPaymentAsync(String orderId, int amount) {
+        try {
+            return CompletableFuture.completedFuture(processPayment(orderId, amount));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // 여러 건을 한 번의 왕복으로 승인한다. 결과는 요청과 같은 순서이고, 건별 거절은 success=false 로 담긴다.
+    // 호출 자체가 실패하면(시간 초과 등) 묶음 전체가 그 예외로 실패한다
+    default List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+        List<Map<String, Object>> results = new ArrayList<>(requests.size());
+        for (PaymentRequest request : requests) {
+            results.add(processPayment(request.orderId(), request.amount()));
+        }
+        return results;
+    }
+
+    // 남은 결제 금액을 모두 환불한다
     Map<String, Object> refundPayment(String orderId);
 
+    // amount 만큼만 환불한다. 남은 금액을 넘으면 success=false 와 refundableAmount 를 돌려준다
+    Map<String, Object> refundPayment(String orderId, int amount);
+
     String getPaymentStatus(String orderId);
 }
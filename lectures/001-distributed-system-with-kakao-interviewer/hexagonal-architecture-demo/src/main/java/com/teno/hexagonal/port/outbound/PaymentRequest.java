@@ -0,0 +1,4 @@
+package com.teno.hexagonal.port.outbound;
+
+public record PaymentRequest(String orderId, int amount) {
+}
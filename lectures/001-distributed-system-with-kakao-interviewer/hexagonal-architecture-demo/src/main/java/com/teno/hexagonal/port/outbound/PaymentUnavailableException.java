@@ -0,0 +1,8 @@
+package com.teno.hexagonal.port.outbound;
+
+// 게이트웨이에 요청을 보내지 않고 거절한 경우. 결제가 시도되지 않았으므로 주문을 실패 처리하지 않는다
+public class PaymentUnavailableException extends RuntimeException {
+    public PaymentUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,202 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.domain.OrderErrorCode;
+import com.teno.hexagonal.domain.OrderException;
+import com.teno.hexagonal.port.outbound.PaymentUnavailableException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IdempotencyStoreTest {
+    private static final int CALLERS = 16;
+    private static final String CREATE = IdempotencyStore.fingerprint("POST", "/", "{\"amount\":1000}".getBytes());
+    private static final String PAY = IdempotencyStore.fingerprint("POST", "/1/pay?async=false", "null".getBytes());
+
+    private final IdempotencyStore store = new IdempotencyStore(new IdempotencyProperties(100, Duration.ofMinutes(1)));
+
+    @Test
+    void concurrentDuplicatesShareOneExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseEntity<?>>> responses = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CALLERS; i++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    return store.execute("key-1", () -> CREATE, () -> {
+                        int execution = executions.incrementAndGet();
+                        sleep(50);
+                        return ResponseEntity.status(HttpStatus.CREATED).body("order-" + execution);
+                    });
+                }));
+            }
+            start.countDown();
+
+            for (Future<ResponseEntity<?>> response : responses) {
+                assertThat(response.get().getStatusCode()).isEqualTo(HttpStatus.CREATED);
+                assertThat(response.get().getBody()).isEqualTo("order-1");
+            }
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(store.stats().replays()).isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    void retryableFailuresAreNotRemembered() {
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThatThrownBy(() -> store.execute("key-1", () -> PAY, () -> {
+            executions.incrementAndGet();
+            throw new PaymentUnavailableException("결제 게이트웨이 회로가 열려 있습니다");
+        })).isInstanceOf(PaymentUnavailableException.class);
+        ResponseEntity<?> retried = store.execute("key-1", () -> PAY, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("paid");
+        });
+
+        assertThat(retried.getBody()).isEqualTo("paid");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void gatewayFailuresAreNotRemembered() {
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThatThrownBy(() -> store.execute("key-1", () -> PAY, () -> {
+            executions.incrementAndGet();
+            throw new OrderException(OrderErrorCode.PAYMENT_FAILED, "결제 처리 중 오류가 발생했습니다: 시간 초과");
+        })).isInstanceOf(OrderException.class);
+        ResponseEntity<?> retried = store.execute("key-1", () -> PAY, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("paid");
+        });
+
+        assertThat(retried.getBody()).isEqualTo("paid");
+        assertThat(executions).hasValue(2);
+    }
+
+    @Test
+    void errorsReleaseTheKey() {
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThatThrownBy(() -> store.execute("key-1", () -> PAY, () -> {
+            executions.incrementAndGet();
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+        assertThat(store.stats().inFlight()).isZero();
+        assertThatThrownBy(() -> store.executeAsync("key-2", () -> PAY, () -> {
+            executions.incrementAndGet();
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+        assertThat(store.stats().inFlight()).isZero();
+
+        ResponseEntity<?> retried = store.execute("key-1", () -> PAY, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.ok("paid");
+        });
+        assertThat(retried.getBody()).isEqualTo("paid");
+        assertThat(executions).hasValue(3);
+    }
+
+    @Test
+    void domainErrorsAreReplayed() {
+        AtomicInteger executions = new AtomicInteger();
+        Supplier<ResponseEntity<?>> declined = () -> {
+            executions.incrementAndGet();
+            throw new OrderException(OrderErrorCode.PAYMENT_DECLINED, "결제 실패: 카드 한도 초과");
+        };
+
+        assertThatThrownBy(() -> store.execute("key-1", () -> PAY, declined)).isInstanceOf(OrderException.class);
+        assertThatThrownBy(() -> store.execute("key-1", () -> PAY, declined))
+                .isInstanceOf(OrderException.class)
+                .hasMessage("결제 실패: 카드 한도 초과");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        AtomicInteger executions = new AtomicInteger();
+        store.execute("key-1", () -> CREATE, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body("order-1");
+        });
+        String otherBody = IdempotencyStore.fingerprint("POST", "/", "{\"amount\":2000}".getBytes());
+
+        assertThatThrownBy(() -> store.execute("key-1", () -> otherBody, () -> {
+            executions.incrementAndGet();
+            return ResponseEntity.status(HttpStatus.CREATED).body("order-2");
+        })).isInstanceOf(IdempotencyKeyReusedException.class);
+        assertThatThrownBy(() -> store.executeAsync("key-1", () -> PAY, () -> {
+            executions.incrementAndGet();
+            return CompletableFuture.completedFuture(ResponseEntity.ok("paid"));
+        })).isInstanceOf(IdempotencyKeyReusedException.class);
+
+        assertThat(executions).hasValue(1);
+        assertThat(store.stats().mismatches()).isEqualTo(2);
+    }
+
+    @Test
+    void runningExecutionsSurviveCacheEviction() throws Exception {
+        IdempotencyStore small = new IdempotencyStore(new IdempotencyProperties(1, Duration.ofMinutes(1)));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<ResponseEntity<?>> first = executor.submit(() -> small.execute("slow", () -> CREATE, () -> {
+                executions.incrementAndGet();
+                running.countDown();
+                await(release);
+                return ResponseEntity.status(HttpStatus.CREATED).body("order-1");
+            }));
+            running.await();
+            // 캐시 크기가 1 이므로 다른 키들이 끝날 때마다 앞선 항목이 밀려난다
+            for (int i = 0; i < 100; i++) {
+                small.execute("other-" + i, () -> CREATE, () -> ResponseEntity.ok("other"));
+            }
+            assertThat(small.stats().inFlight()).isEqualTo(1);
+
+            Future<ResponseEntity<?>> duplicate = executor.submit(() -> small.execute("slow", () -> CREATE, () -> {
+                executions.incrementAndGet();
+                return ResponseEntity.status(HttpStatus.CREATED).body("order-2");
+            }));
+            release.countDown();
+
+            assertThat(first.get().getBody()).isEqualTo("order-1");
+            assertThat(duplicate.get().getBody()).isEqualTo("order-1");
+        }
+        assertThat(executions).hasValue(1);
+        assertThat(small.stats().inFlight()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
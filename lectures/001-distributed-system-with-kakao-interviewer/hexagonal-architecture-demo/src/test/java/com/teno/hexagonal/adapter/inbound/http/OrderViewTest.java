@@ -0,0 +1,41 @@
+package com.teno.hexagonal.adapter.inbound.http;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderViewTest {
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void responseDoesNotExposeTheStoreVersion() {
+        Order order = new Order("1", "user-1", "product-1", 1_000).nextVersion();
+
+        JsonNode json = objectMapper.valueToTree(OrderResponse.of(order)).get("order");
+
+        assertThat(json.has("version")).isFalse();
+        assertThat(json.get("id").asString()).isEqualTo("1");
+        assertThat(json.get("status").asString()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void timestampsAndFailureReasonKeepTheirWireFormat() {
+        Order order = Order.restore("1", "user-1", "product-1", 1_000, OrderStatus.PENDING,
+                1_700_000_000_123L, 1_700_000_000_456L, null);
+
+        JsonNode json = objectMapper.valueToTree(OrderResponse.of(order)).get("order");
+
+        assertThat(json.get("createdAt").isString()).isTrue();
+        assertThat(Instant.parse(json.get("createdAt").asString().replace("+00:00", "Z")))
+                .isEqualTo(Instant.ofEpochMilli(1_700_000_000_123L));
+        assertThat(json.get("updatedAt").isString()).isTrue();
+        assertThat(json.get("failureReason").asString()).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingOrderRepositoryTest {
+
+    @Test
+    void writesGoThroughAndDeleteInvalidates() {
+        InMemoryOrderRepository store = new InMemoryOrderRepository();
+        CachingOrderRepository repository = new CachingOrderRepository(store, new OrderCacheProperties(true, 100));
+
+        repository.save(new Order("1", "user-1", "product-1", 1000));
+        Order paid = Order.restore("1", "user-1", "product-1", 1000, OrderStatus.PAID, 0, 0, null);
+        repository.update(paid);
+
+        assertThat(repository.findById("1").getStatus()).isEqualTo(OrderStatus.PAID);
+        assertThat(store.findById("1").getStatus()).isEqualTo(OrderStatus.PAID);
+
+        repository.delete("1");
+
+        assertThat(repository.findById("1")).isNull();
+        assertThat(store.findById("1")).isNull();
+    }
+
+    @Test
+    void slowerWriterDoesNotOverwriteANewerCachedVersion() throws Exception {
+        CountDownLatch newerCached = new CountDownLatch(1);
+        InMemoryOrderRepository store = new InMemoryOrderRepository() {
+            @Override
+            public Order update(Order order, long expectedVersion) {
+                Order updated = super.update(order, expectedVersion);
+                if (updated.getVersion() == 1) {
+                    // 저장소에는 반영했지만 캐시를 갱신하기 전에 다른 쓰기가 끝난다
+                    await(newerCached);
+                }
+                return updated;
+            }
+        };
+        CachingOrderRepository repository = new CachingOrderRepository(store, new OrderCacheProperties(true, 100));
+        Order created = repository.save(new Order("1", "user-1", "product-1", 1000));
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Order> slow = executor.submit(() -> repository.update(created.nextVersion(), created.getVersion()));
+            while (store.findById("1").getVersion() != 1) {
+                Thread.onSpinWait();
+            }
+            Order first = store.findById("1");
+            repository.update(first.nextVersion(), first.getVersion());
+            newerCached.countDown();
+            slow.get();
+        }
+
+        assertThat(repository.findById("1").getVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void readsThroughOnMissAndCountsHits() {
+        InMemoryOrderRepository store = new InMemoryOrderRepository();
+        store.save(new Order("1", "user-1", "product-1", 1000));
+        CachingOrderRepository repository = new CachingOrderRepository(store, new OrderCacheProperties(true, 100));
+
+        assertThat(repository.findById("1")).isNotNull();
+        assertThat(repository.findById("1")).isNotNull();
+        assertThat(repository.findById("missing")).isNull();
+
+        OrderCacheStats stats = repository.stats();
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(2);
+        assertThat(stats.size()).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
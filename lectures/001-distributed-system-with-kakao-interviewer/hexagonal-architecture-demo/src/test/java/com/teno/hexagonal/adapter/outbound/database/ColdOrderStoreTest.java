@@ -0,0 +1,72 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ColdOrderStoreTest {
+    private static final int SEGMENT_SIZE = 256;
+
+    @Test
+    void segmentsWithoutLiveRecordsAreReclaimedAndReused() {
+        ColdOrderStore store = new ColdOrderStore(SEGMENT_SIZE);
+        for (int i = 0; i < 40; i++) {
+            store.put(order(i, null));
+        }
+        long filled = store.stats().offHeapBytes();
+        assertThat(filled).isGreaterThan(SEGMENT_SIZE * 4L);
+
+        for (int i = 0; i < 39; i++) {
+            store.remove(Integer.toString(i));
+        }
+
+        // 마지막 주문이 든, 쓰는 중인 세그먼트만 남는다
+        ColdStoreStats stats = store.stats();
+        assertThat(stats.orders()).isEqualTo(1);
+        assertThat(stats.offHeapBytes()).isEqualTo(SEGMENT_SIZE);
+        assertThat(stats.deadBytes()).isLessThan(SEGMENT_SIZE);
+        assertThat(store.get("39").getId()).isEqualTo("39");
+
+        for (int i = 40; i < 80; i++) {
+            store.put(order(i, null));
+        }
+        assertThat(store.stats().offHeapBytes()).isEqualTo(filled);
+        assertThat(store.all()).hasSize(41);
+        assertThat(store.get("79").getId()).isEqualTo("79");
+        assertThat(store.get("39").getId()).isEqualTo("39");
+    }
+
+    @Test
+    void rewritingEveryRecordReleasesTheOldSegments() {
+        ColdOrderStore store = new ColdOrderStore(SEGMENT_SIZE);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 20; i++) {
+                store.put(order(i, "round-" + round));
+            }
+        }
+
+        ColdStoreStats stats = store.stats();
+        assertThat(stats.orders()).isEqualTo(20);
+        // 열 바퀴를 썼어도 마지막 바퀴와 그 직전 일부를 담을 만큼만 남는다
+        assertThat(stats.offHeapBytes()).isLessThan(stats.liveBytes() + 3L * SEGMENT_SIZE);
+        assertThat(store.get("7").getFailureReason()).isEqualTo("round-9");
+    }
+
+    @Test
+    void oversizedRecordsAreCountedAtTheirRealCapacity() {
+        ColdOrderStore store = new ColdOrderStore(SEGMENT_SIZE);
+        Order large = order(1, "x".repeat(SEGMENT_SIZE * 4));
+
+        store.put(large);
+
+        assertThat(store.stats().offHeapBytes()).isEqualTo(Integer.BYTES + OrderCodec.encode(large).length);
+        assertThat(store.get("1").getFailureReason()).hasSize(SEGMENT_SIZE * 4);
+    }
+
+    private static Order order(int id, String failureReason) {
+        return Order.restore(Integer.toString(id), "user-" + id, "product-1", 1000,
+                failureReason != null ? OrderStatus.FAILED : OrderStatus.PAID, id, id, failureReason);
+    }
+}
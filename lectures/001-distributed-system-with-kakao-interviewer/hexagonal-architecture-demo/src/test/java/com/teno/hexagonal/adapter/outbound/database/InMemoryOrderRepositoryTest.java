@@ -0,0 +1,159 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.outbound.OrderRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryOrderRepositoryTest {
+    private static final int THREADS = 16;
+    private static final int ORDERS_PER_THREAD = 20_000;
+
+    @Test
+    void concurrentWritersDoNotLoseOrders() throws Exception {
+        OrderRepository repository = new InMemoryOrderRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        long begin = System.nanoTime();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                    String id = thread + "-" + i;
+                    repository.save(new Order(id, "user-" + thread, "product-" + i, 1000));
+                    Order found = repository.findById(id).nextVersion();
+                    found.markAsPaid();
+                    repository.update(found);
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsed = System.nanoTime() - begin;
+        executor.shutdown();
+
+        int total = THREADS * ORDERS_PER_THREAD;
+        System.out.printf("%d threads, %d ops in %d ms (%.0f ops/s)%n",
+                THREADS, total * 3, elapsed / 1_000_000, total * 3 / (elapsed / 1e9));
+
+        assertThat(repository.findAll()).hasSize(total);
+        assertThat(repository.findAll()).allMatch(order -> order.getStatus() == OrderStatus.PAID);
+    }
+
+    @Test
+    void secondaryIndexesFollowSaveUpdateAndDelete() {
+        OrderRepository repository = new InMemoryOrderRepository();
+        Order first = repository.save(new Order("1", "user-a", "product-1", 1000));
+        repository.save(new Order("2", "user-a", "product-2", 2000));
+        repository.save(new Order("3", "user-b", "product-1", 3000));
+
+        Order paid = first.nextVersion();
+        paid.markAsPaid();
+        repository.update(paid);
+        repository.delete("3");
+
+        assertThat(repository.findByUserId("user-a", 10)).extracting(Order::getId).containsExactlyInAnyOrder("1", "2");
+        assertThat(repository.findByUserId("user-b", 10)).isEmpty();
+        assertThat(repository.findByStatus(OrderStatus.PAID, 10)).extracting(Order::getId).containsExactly("1");
+        assertThat(repository.findByStatus(OrderStatus.PENDING, 10)).extracting(Order::getId).containsExactly("2");
+        assertThat(repository.findByCreatedAtBetween(0, Long.MAX_VALUE, 10)).hasSize(2);
+    }
+
+    @Test
+    void indexesDropEmptyEntriesAndMoveOnlyFromThePreviousStatus() {
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        Order order = repository.save(Order.restore("1", "user-a", "product-1", 1000, OrderStatus.PENDING, 5, 5, null));
+        repository.save(Order.restore("2", "user-a", "product-2", 2000, OrderStatus.PENDING, 5, 5, null));
+
+        Order paid = order.nextVersion();
+        paid.markAsPaid();
+        repository.update(paid, order.getVersion());
+        Order refunded = paid.nextVersion();
+        refunded.markAsRefunded();
+        repository.update(refunded, paid.getVersion());
+
+        assertThat(repository.findByStatus(OrderStatus.PENDING, 10)).extracting(Order::getId).containsExactly("2");
+        assertThat(repository.findByStatus(OrderStatus.PAID, 10)).isEmpty();
+        assertThat(repository.findByStatus(OrderStatus.REFUNDED, 10)).extracting(Order::getId).containsExactly("1");
+        assertThat(repository.findByCreatedAtBetween(5, 6, 10)).extracting(Order::getId).containsExactly("1", "2");
+
+        repository.delete("1");
+        repository.delete("2");
+
+        assertThat(repository.indexes().userCount()).isZero();
+        assertThat(repository.indexes().createdAtCount()).isZero();
+        assertThat(repository.findByUserId("user-a", 10)).isEmpty();
+    }
+
+    @Test
+    void concurrentSavesAndDeletesOfTheSameOrdersLeaveNoStaleIndexEntries() throws Exception {
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    String id = Integer.toString(random.nextInt(16));
+                    if (random.nextBoolean()) {
+                        // 저장할 때마다 생성 시각이 달라지므로, 지우지 못한 인덱스 항목이 있으면 개수가 어긋난다
+                        repository.save(Order.restore(id, "user-" + id, "product-1", 1000, OrderStatus.PENDING,
+                                random.nextLong(1_000_000), 0, null));
+                    } else {
+                        repository.delete(id);
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        int size = repository.size();
+        assertThat(repository.indexes().createdAtCount()).isEqualTo(size);
+        assertThat(repository.indexes().userCount()).isEqualTo(size);
+        assertThat(repository.findByStatus(OrderStatus.PENDING, 100)).hasSize(size);
+        assertThat(repository.findPage(null, 100).orders()).hasSize(size);
+    }
+
+    @Test
+    void saveAllIndexesEveryOrderInTheBatch() {
+        InMemoryOrderRepository repository = new InMemoryOrderRepository();
+        List<Order> batch = List.of(
+                Order.restore("1", "user-a", "product-1", 1000, OrderStatus.PENDING, 5, 5, null),
+                Order.restore("2", "user-a", "product-2", 2000, OrderStatus.PENDING, 6, 6, null),
+                Order.restore("3", "user-b", "product-1", 3000, OrderStatus.PENDING, 7, 7, null));
+
+        assertThat(repository.saveAll(batch)).isSameAs(batch);
+
+        assertThat(repository.findById("2").getAmount()).isEqualTo(2000);
+        assertThat(repository.findByUserId("user-a", 10)).extracting(Order::getId).containsExactlyInAnyOrder("1", "2");
+        assertThat(repository.findByUserId("user-b", 10)).extracting(Order::getId).containsExactly("3");
+        assertThat(repository.findByStatus(OrderStatus.PENDING, 10)).hasSize(3);
+        assertThat(repository.findByCreatedAtBetween(6, 8, 10)).extracting(Order::getId).containsExactly("2", "3");
+        assertThat(repository.findPage(null, 10).orders()).extracting(Order::getId).containsExactly("1", "2", "3");
+    }
+}
@@ -0,0 +1,76 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TieredOrderRepositoryTest {
+    private final TieredOrderRepository repository = new TieredOrderRepository(
+            new TieredProperties(Duration.ZERO, Duration.ofHours(1), DataSize.ofKilobytes(4)));
+
+    @AfterEach
+    void tearDown() {
+        repository.close();
+    }
+
+    @Test
+    void terminalOrdersMoveOffHeapAndStayQueryable() {
+        repository.save(Order.restore("1", "user-1", "product-1", 1000, OrderStatus.PAID, 1, 1, null));
+        repository.save(Order.restore("2", "user-1", "product-1", 1000, OrderStatus.FAILED, 2, 2, "거절"));
+        repository.save(new Order("3", "user-2", "product-1", 1000));
+
+        assertThat(repository.demote()).isEqualTo(2);
+
+        TierStats stats = repository.stats();
+        assertThat(stats.hotOrders()).isEqualTo(1);
+        assertThat(stats.coldOrders()).isEqualTo(2);
+        assertThat(repository.findById("2").getFailureReason()).isEqualTo("거절");
+        assertThat(repository.findByStatus(OrderStatus.PAID, 10)).extracting(Order::getId).containsExactly("1");
+        assertThat(repository.findByUserId("user-1", 10)).hasSize(2);
+        assertThat(repository.findPage(null, 10).orders()).extracting(Order::getId).containsExactly("1", "2", "3");
+        assertThat(repository.findAll()).hasSize(3);
+    }
+
+    @Test
+    void updatingColdOrderPromotesIt() {
+        repository.save(Order.restore("1", "user-1", "product-1", 1000, OrderStatus.FAILED, 1, 1, "거절"));
+        repository.demote();
+
+        Order failed = repository.findById("1");
+        Order next = failed.nextVersion();
+        next.cancel();
+        repository.update(next, failed.getVersion());
+
+        assertThat(repository.stats().coldOrders()).isZero();
+        assertThat(repository.findById("1").getStatus()).isEqualTo(OrderStatus.CANCELED);
+        assertThat(repository.findByStatus(OrderStatus.FAILED, 10)).isEmpty();
+    }
+
+    @Test
+    void deletingColdOrderRemovesItFromBothTiers() {
+        repository.save(Order.restore("1", "user-1", "product-1", 1000, OrderStatus.PAID, 1, 1, null));
+        repository.demote();
+
+        assertThat(repository.delete("1")).isNotNull();
+
+        assertThat(repository.findById("1")).isNull();
+        assertThat(repository.findByStatus(OrderStatus.PAID, 10)).isEmpty();
+        assertThat(repository.stats().coldOrders()).isZero();
+    }
+
+    @Test
+    void rejectsSegmentSizesThatDoNotFitInABuffer() {
+        assertThatThrownBy(() -> new TieredProperties(Duration.ZERO, Duration.ofHours(1), DataSize.ofGigabytes(2)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("2147483648B");
+        assertThatThrownBy(() -> new TieredProperties(Duration.ZERO, Duration.ofHours(1), DataSize.ofBytes(0)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
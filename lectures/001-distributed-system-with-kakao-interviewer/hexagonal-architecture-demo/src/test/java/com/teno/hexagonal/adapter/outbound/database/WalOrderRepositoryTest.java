@@ -0,0 +1,156 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WalOrderRepositoryTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysLogOnRestart() {
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            Order paid = repository.save(new Order("1", "user-a", "product-1", 1000)).nextVersion();
+            repository.save(new Order("2", "user-a", "product-2", 2000));
+            repository.save(new Order("3", "user-b", "product-3", 3000));
+            paid.markAsPaid();
+            repository.update(paid);
+            repository.delete("3");
+        }
+
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            assertThat(repository.findAll()).hasSize(2);
+            assertThat(repository.findById("1").getStatus()).isEqualTo(OrderStatus.PAID);
+            assertThat(repository.findById("3")).isNull();
+            assertThat(repository.findByUserId("user-a", 10)).hasSize(2);
+        }
+    }
+
+    @Test
+    void savedBatchIsReplayedOnRestart() {
+        try (WalOrderRepository repository = open(WalDurability.BATCHED)) {
+            repository.saveAll(List.of(
+                    new Order("1", "user-a", "product-1", 1000),
+                    new Order("2", "user-a", "product-2", 2000),
+                    new Order("3", "user-b", "product-3", 3000)));
+        }
+
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            assertThat(repository.findAll()).extracting(Order::getId).containsExactlyInAnyOrder("1", "2", "3");
+            assertThat(repository.findByUserId("user-a", 10)).hasSize(2);
+            assertThat(repository.findByStatus(OrderStatus.PENDING, 10)).hasSize(3);
+        }
+    }
+
+    @Test
+    void snapshotCompactsOldSegments() throws IOException {
+        try (WalOrderRepository repository = open(WalDurability.BATCHED)) {
+            for (int i = 0; i < 100; i++) {
+                repository.save(new Order(String.valueOf(i), "user", "product", 1000));
+            }
+            repository.snapshot();
+            repository.save(new Order("100", "user", "product", 1000));
+        }
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.map(path -> path.getFileName().toString()))
+                    .contains("snapshot-2.dat")
+                    .doesNotContain("wal-1.log");
+        }
+        try (WalOrderRepository repository = open(WalDurability.BATCHED)) {
+            assertThat(repository.findAll()).hasSize(101);
+        }
+    }
+
+    @Test
+    void discardsTornTailRecord() throws IOException {
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            repository.save(new Order("1", "user", "product", 1000));
+        }
+        Files.write(directory.resolve("wal-1.log"), new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            assertThat(repository.findAll()).extracting(Order::getId).containsExactly("1");
+            repository.save(new Order("2", "user", "product", 1000));
+        }
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            assertThat(repository.findAll()).hasSize(2);
+        }
+    }
+
+    @Test
+    void groupCommitKeepsEveryConcurrentWrite() throws Exception {
+        int threads = 8;
+        int perThread = 500;
+        try (WalOrderRepository repository = open(WalDurability.BATCHED)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        repository.save(new Order(thread + "-" + i, "user", "product", 1000));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        }
+
+        try (WalOrderRepository repository = open(WalDurability.BATCHED)) {
+            List<Order> orders = repository.findAll();
+            assertThat(orders).hasSize(threads * perThread);
+        }
+    }
+
+    @Test
+    void snapshotKeepsWritesAcknowledgedWhileItRuns() throws Exception {
+        int threads = 4;
+        Set<String> acknowledged = ConcurrentHashMap.newKeySet();
+        AtomicBoolean running = new AtomicBoolean(true);
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                executor.submit(() -> {
+                    for (int i = 0; running.get(); i++) {
+                        String id = thread + "-" + i;
+                        repository.save(new Order(id, "user", "product", 1000));
+                        acknowledged.add(id);
+                    }
+                });
+            }
+            for (int i = 0; i < 20; i++) {
+                repository.snapshot();
+            }
+            running.set(false);
+            executor.shutdown();
+            assertThat(executor.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        }
+
+        try (WalOrderRepository repository = open(WalDurability.EVERY_WRITE)) {
+            assertThat(repository.findAll()).extracting(Order::getId).containsAll(acknowledged);
+        }
+    }
+
+    private WalOrderRepository open(WalDurability durability) {
+        return new WalOrderRepository(new WalProperties(directory, durability, Duration.ofMillis(1), Duration.ofHours(1), Long.MAX_VALUE));
+    }
+}
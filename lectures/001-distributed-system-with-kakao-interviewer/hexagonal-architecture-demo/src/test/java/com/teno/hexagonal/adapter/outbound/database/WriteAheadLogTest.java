@@ -0,0 +1,205 @@
+package com.teno.hexagonal.adapter.outbound.database;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WriteAheadLogTest {
+    private static final Runnable NO_CHECK = () -> {
+    };
+
+    @TempDir
+    Path directory;
+
+    private final AtomicBoolean failForce = new AtomicBoolean();
+    private final AtomicInteger forceCalls = new AtomicInteger();
+
+    @Test
+    void batchedWriteIsNotAppliedWhenGroupFsyncFails() throws InterruptedException {
+        try (WriteAheadLog wal = open(WalDurability.BATCHED)) {
+            AtomicInteger applied = new AtomicInteger();
+            wal.append(WriteAheadLog.PUT, "1", new byte[]{1}, NO_CHECK, applied::incrementAndGet);
+            assertThat(applied).hasValue(1);
+
+            failForce.set(true);
+            assertThatThrownBy(() -> wal.append(WriteAheadLog.PUT, "2", new byte[]{2}, NO_CHECK, applied::incrementAndGet))
+                    .isInstanceOf(UncheckedIOException.class);
+            assertThat(applied).hasValue(1);
+
+            assertRejectsWithoutWriting(wal, applied);
+            assertFlusherStopped();
+        }
+    }
+
+    @Test
+    void asyncLogStopsAcceptingWritesAfterFsyncFails() throws InterruptedException {
+        try (WriteAheadLog wal = open(WalDurability.ASYNC)) {
+            AtomicInteger applied = new AtomicInteger();
+            failForce.set(true);
+            wal.append(WriteAheadLog.PUT, "1", new byte[]{1}, NO_CHECK, applied::incrementAndGet);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (forceCalls.get() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+
+            assertRejectsWithoutWriting(wal, applied);
+            assertFlusherStopped();
+        }
+    }
+
+    @Test
+    void everyWriteFailureLeavesMemoryUntouched() {
+        try (WriteAheadLog wal = open(WalDurability.EVERY_WRITE)) {
+            AtomicInteger applied = new AtomicInteger();
+            failForce.set(true);
+
+            assertThatThrownBy(() -> wal.append(WriteAheadLog.PUT, "1", new byte[]{1}, NO_CHECK, applied::incrementAndGet))
+                    .isInstanceOf(UncheckedIOException.class);
+            assertThat(applied).hasValue(0);
+            assertRejectsWithoutWriting(wal, applied);
+        }
+    }
+
+    private void assertRejectsWithoutWriting(WriteAheadLog wal, AtomicInteger applied) {
+        int appliedBefore = applied.get();
+        AtomicBoolean validated = new AtomicBoolean();
+        assertThatThrownBy(() -> wal.append(WriteAheadLog.PUT, "3", new byte[]{3},
+                () -> validated.set(true), applied::incrementAndGet))
+                .isInstanceOf(UncheckedIOException.class);
+        assertThat(validated).isFalse();
+        assertThat(applied).hasValue(appliedBefore);
+    }
+
+    // 실패한 뒤 플러셔가 계속 fsync 를 시도하며 돌지 않는다
+    private void assertFlusherStopped() throws InterruptedException {
+        int calls = forceCalls.get();
+        Thread.sleep(50);
+        assertThat(forceCalls).hasValue(calls);
+    }
+
+    private WriteAheadLog open(WalDurability durability) {
+        WriteAheadLog wal = new WriteAheadLog(directory, durability, TimeUnit.MILLISECONDS.toNanos(1),
+                path -> new FailingForceChannel(FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+        wal.open(order -> {
+        }, id -> {
+        });
+        return wal;
+    }
+
+    // force 만 실패시키고 나머지는 실제 파일에 위임한다
+    private class FailingForceChannel extends FileChannel {
+        private final FileChannel delegate;
+
+        FailingForceChannel(FileChannel delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            forceCalls.incrementAndGet();
+            if (failForce.get()) {
+                throw new IOException("디스크 오류");
+            }
+            delegate.force(metaData);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return delegate.write(src);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            return delegate.write(srcs, offset, length);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            return delegate.transferTo(position, count, target);
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            return delegate.transferFrom(src, position, count);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return delegate.write(src, position);
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            return delegate.map(mode, position, size);
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.teno.hexagonal.adapter.outbound.event;
+
+import com.teno.hexagonal.domain.OrderEvent;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.outbound.OrderEventListener;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferOrderEventBusTest {
+
+    @Test
+    void everyListenerSeesEveryEventInPerOrderSequence() throws Exception {
+        int producers = 4;
+        int ordersPerProducer = 5_000;
+        RecordingListener first = new RecordingListener();
+        RecordingListener second = new RecordingListener();
+
+        // 작은 버퍼로 생산자가 소비자를 기다리는 경로까지 거치게 한다
+        try (RingBufferOrderEventBus bus = new RingBufferOrderEventBus(List.of(first, second),
+                new OrderEventBusProperties(2, 64, 16, Duration.ofSeconds(30)))) {
+            ExecutorService executor = Executors.newFixedThreadPool(producers);
+            for (int p = 0; p < producers; p++) {
+                int producer = p;
+                executor.submit(() -> {
+                    for (int i = 0; i < ordersPerProducer; i++) {
+                        String orderId = producer + "-" + i;
+                        bus.publish(event(OrderEvent.Type.CREATED, orderId));
+                        bus.publish(event(OrderEvent.Type.PAID, orderId));
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+        }
+
+        for (RecordingListener listener : List.of(first, second)) {
+            assertThat(listener.count.sum()).isEqualTo(2L * producers * ordersPerProducer);
+            assertThat(listener.lastType).hasSize(producers * ordersPerProducer)
+                    .allSatisfy((orderId, type) -> assertThat(type).isEqualTo(OrderEvent.Type.PAID));
+            assertThat(listener.outOfOrder.sum()).isZero();
+        }
+    }
+
+    @Test
+    void listenerErrorsDoNotStopTheConsumer() throws Exception {
+        RecordingListener recording = new RecordingListener();
+        OrderEventListener failing = (event, endOfBatch) -> {
+            if (event.orderId().equals("0")) {
+                throw new AssertionError("리스너 오류");
+            }
+            recording.onEvent(event, endOfBatch);
+        };
+
+        try (RingBufferOrderEventBus bus = new RingBufferOrderEventBus(List.of(failing),
+                new OrderEventBusProperties(1, 64, 16, Duration.ofSeconds(30)))) {
+            for (int i = 0; i < 10; i++) {
+                bus.publish(event(OrderEvent.Type.CREATED, Integer.toString(i)));
+            }
+        }
+
+        assertThat(recording.count.sum()).isEqualTo(9);
+    }
+
+    @Test
+    void publisherStopsWaitingWhenTheConsumerIsStuck() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingListener recording = new RecordingListener();
+        OrderEventListener stuck = (event, endOfBatch) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            recording.onEvent(event, endOfBatch);
+        };
+
+        try (RingBufferOrderEventBus bus = new RingBufferOrderEventBus(List.of(stuck),
+                new OrderEventBusProperties(1, 4, 16, Duration.ofMillis(50)))) {
+            for (int i = 0; i < 4; i++) {
+                bus.publish(event(OrderEvent.Type.CREATED, Integer.toString(i)));
+            }
+
+            long start = System.nanoTime();
+            bus.publish(event(OrderEvent.Type.CREATED, "4"));
+            bus.publish(event(OrderEvent.Type.CREATED, "5"));
+            // 첫 생산자만 제한 시간을 기다리고, 같은 자리에 멈춘 소비자를 본 다음 생산자는 바로 버린다
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+            assertThat(bus.dropped()).isEqualTo(2);
+
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (recording.count.sum() < 4 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            bus.publish(event(OrderEvent.Type.CREATED, "6"));
+            assertThat(bus.dropped()).isEqualTo(2);
+        }
+
+        assertThat(recording.lastType).containsOnlyKeys("0", "1", "2", "3", "6");
+    }
+
+    @Test
+    void idleParkGrowsUpToOneMillisecond() {
+        long previous = 0;
+        int idle = 0;
+        for (int i = 0; i < 250; i++) {
+            idle = RingBufferOrderEventBus.backoff(idle);
+        }
+        for (int i = 200; i < 220; i++) {
+            long park = RingBufferOrderEventBus.parkNanos(i);
+            assertThat(park).isGreaterThanOrEqualTo(previous).isBetween(
+                    RingBufferOrderEventBus.MIN_PARK_NANOS, RingBufferOrderEventBus.MAX_PARK_NANOS);
+            previous = park;
+        }
+        assertThat(RingBufferOrderEventBus.parkNanos(idle)).isEqualTo(RingBufferOrderEventBus.MAX_PARK_NANOS);
+    }
+
+    private static OrderEvent event(OrderEvent.Type type, String orderId) {
+        return new OrderEvent(type, orderId, "user", "product", 1000, null, OrderStatus.PENDING, null, 0);
+    }
+
+    private static class RecordingListener implements OrderEventListener {
+        final LongAdder count = new LongAdder();
+        final LongAdder outOfOrder = new LongAdder();
+        final Map<String, OrderEvent.Type> lastType = new ConcurrentHashMap<>();
+
+        @Override
+        public void onEvent(OrderEvent event, boolean endOfBatch) {
+            count.increment();
+            OrderEvent.Type previous = lastType.put(event.orderId(), event.type());
+            if (event.type() == OrderEvent.Type.PAID && previous != OrderEvent.Type.CREATED) {
+                outOfOrder.increment();
+            }
+        }
+    }
+}
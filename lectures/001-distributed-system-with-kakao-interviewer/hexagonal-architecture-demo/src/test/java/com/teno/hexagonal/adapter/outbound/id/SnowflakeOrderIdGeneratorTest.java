@@ -0,0 +1,63 @@
+package com.teno.hexagonal.adapter.outbound.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeOrderIdGeneratorTest {
+
+    @Test
+    void idsAreUniqueAcrossThreads() throws Exception {
+        SnowflakeOrderIdGenerator generator = new SnowflakeOrderIdGenerator(7);
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int perThread = 100_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    ids.add(generator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(ids).hasSize(threads * perThread);
+    }
+
+    @Test
+    void idsAreMonotonicWithinThread() {
+        SnowflakeOrderIdGenerator generator = new SnowflakeOrderIdGenerator(0);
+        long previous = generator.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long next = generator.nextId();
+            assertThat(next).isGreaterThan(previous);
+            previous = next;
+        }
+    }
+
+    @Test
+    void nodeIdMustFitInTheNodeBits() {
+        assertThat(new OrderIdProperties(SnowflakeOrderIdGenerator.MAX_NODE_ID).nodeId()).isEqualTo(1023);
+        assertThatThrownBy(() -> new OrderIdProperties(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new OrderIdProperties(SnowflakeOrderIdGenerator.MAX_NODE_ID + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void nodeIdIsEncodedBetweenTimestampAndSequence() {
+        long id = new SnowflakeOrderIdGenerator(513).nextId();
+
+        assertThat((id >>> SnowflakeOrderIdGenerator.SEQUENCE_BITS) & SnowflakeOrderIdGenerator.MAX_NODE_ID)
+                .isEqualTo(513);
+    }
+}
@@ -0,0 +1,117 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FakePaymentGatewayTest {
+
+    @Test
+    void sameSeedReplaysSameOutcomes() {
+        FakePaymentGatewayProperties properties = properties(LatencyDistribution.FIXED, Duration.ZERO, 0.3, 0, 0, 0, 42L);
+
+        assertThat(outcomes(new FakePaymentGateway(properties), 200))
+                .isEqualTo(outcomes(new FakePaymentGateway(properties), 200))
+                .contains(true, false);
+    }
+
+    @Test
+    void bimodalDistributionProducesLongTail() {
+        FakePaymentGatewayProperties properties = properties(LatencyDistribution.BIMODAL, Duration.ofMillis(1), 0, 0, 0, 0, 7L);
+        FakePaymentGateway gateway = new FakePaymentGateway(properties);
+
+        long slow = 0;
+        for (int i = 0; i < 200; i++) {
+            long start = System.nanoTime();
+            gateway.processPayment(String.valueOf(i), 1000);
+            if (System.nanoTime() - start >= Duration.ofMillis(20).toNanos()) {
+                slow++;
+            }
+        }
+        assertThat(slow).isBetween(1L, 60L);
+    }
+
+    @Test
+    void rejectsCallsBeyondConcurrencyAndQueue() throws Exception {
+        FakePaymentGatewayProperties properties = properties(LatencyDistribution.FIXED, Duration.ofMillis(200), 0, 0, 1, 1, 1L);
+        FakePaymentGateway gateway = new FakePaymentGateway(properties);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> running = new ArrayList<>();
+            running.add(executor.submit(() -> gateway.processPayment("1", 1000)));
+            running.add(executor.submit(() -> gateway.processPayment("2", 1000)));
+            Thread.sleep(50);
+
+            assertThatThrownBy(() -> gateway.processPayment("3", 1000))
+                    .hasMessageContaining("대기열");
+            for (Future<?> future : running) {
+                future.get();
+            }
+        }
+        assertThat(gateway.getPaymentStatus("1")).isEqualTo(PaymentRecord.COMPLETED);
+        assertThat(gateway.getPaymentStatus("3")).isEqualTo("NOT_FOUND");
+    }
+
+    @Test
+    void abandonedCallIsNotChargedWhenConcurrencyIsLimited() throws Exception {
+        FakePaymentGatewayProperties properties = properties(LatencyDistribution.FIXED, Duration.ofMillis(100), 0, 0, 1, 1, 1L);
+        FakePaymentGateway gateway = new FakePaymentGateway(properties);
+
+        CompletableFuture<Map<String, Object>> call = gateway.processPaymentAsync("1", 1000)
+                .orTimeout(10, TimeUnit.MILLISECONDS);
+
+        assertThatThrownBy(call::join).hasCauseInstanceOf(TimeoutException.class);
+        Thread.sleep(200);
+        assertThat(gateway.getPaymentStatus("1")).isEqualTo("NOT_FOUND");
+        assertThat(gateway.processPaymentAsync("2", 1000).get(1, TimeUnit.SECONDS)).containsEntry("success", true);
+    }
+
+    @Test
+    void refundsPartiallyThenInFull() {
+        FakePaymentGateway gateway = new FakePaymentGateway(properties(LatencyDistribution.FIXED, Duration.ZERO, 0, 0, 0, 0, 1L));
+        String transactionId = (String) gateway.processPayment("1", 1000).get("transactionId");
+
+        assertThat(gateway.refundPayment("1", 300))
+                .containsEntry("success", true)
+                .containsEntry("transactionId", transactionId)
+                .containsEntry("refundedAmount", 300)
+                .containsEntry("refundableAmount", 700);
+        assertThat(gateway.getPaymentStatus("1")).isEqualTo(PaymentRecord.PARTIALLY_REFUNDED);
+        assertThat(gateway.refundPayment("1", 800))
+                .containsEntry("success", false)
+                .containsEntry("refundableAmount", 700);
+        assertThat(gateway.refundPayment("1"))
+                .containsEntry("success", true)
+                .containsEntry("refundedAmount", 700)
+                .containsEntry("totalRefunded", 1000);
+        assertThat(gateway.getPaymentStatus("1")).isEqualTo(PaymentRecord.REFUNDED);
+        assertThat(gateway.refundPayment("2")).containsEntry("status", "NOT_FOUND");
+    }
+
+    private static List<Boolean> outcomes(FakePaymentGateway gateway, int calls) {
+        List<Boolean> outcomes = new ArrayList<>();
+        for (int i = 0; i < calls; i++) {
+            outcomes.add((Boolean) gateway.processPayment(String.valueOf(i), 1000).get("success"));
+        }
+        return outcomes;
+    }
+
+    private static FakePaymentGatewayProperties properties(LatencyDistribution distribution, Duration latency,
+                                                          double failureRate, double timeoutRate,
+                                                          int maxConcurrency, int maxQueue, Long seed) {
+        return new FakePaymentGatewayProperties(distribution, latency, 0.5, Duration.ofMillis(50), 0.1,
+                failureRate, timeoutRate, Duration.ofMillis(10), maxConcurrency, maxQueue, seed);
+    }
+}
@@ -0,0 +1,70 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentLedgerTest {
+
+    @Test
+    void concurrentPartialRefundsNeverExceedThePayment() throws Exception {
+        PaymentLedger ledger = new PaymentLedger();
+        ledger.record(PaymentRecord.completed("order-1", "TXN-1", 1000, 0));
+
+        List<Future<PaymentLedger.Refund>> refunds = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int i = 0; i < 30; i++) {
+                refunds.add(executor.submit(() -> ledger.refund("order-1", 70, 1)));
+            }
+        }
+
+        int refunded = 0;
+        for (Future<PaymentLedger.Refund> refund : refunds) {
+            refunded += refund.get().refunded();
+        }
+        PaymentRecord payment = ledger.findByTransactionId("TXN-1");
+        assertThat(refunded).isEqualTo(980);
+        assertThat(payment.refundedAmount()).isEqualTo(980);
+        assertThat(payment.status()).isEqualTo(PaymentRecord.PARTIALLY_REFUNDED);
+
+        assertThat(ledger.refund("order-1", null, 2).refunded()).isEqualTo(20);
+        assertThat(ledger.findByOrderId("order-1").status()).isEqualTo(PaymentRecord.REFUNDED);
+        assertThat(ledger.refund("order-1", null, 3).refunded()).isZero();
+        assertThat(ledger.refund("order-2", null, 3)).isNull();
+    }
+
+    @Test
+    void refundsTheLiveChargeAfterADuplicateWasReversed() {
+        PaymentLedger ledger = new PaymentLedger();
+        ledger.record(PaymentRecord.completed("order-1", "TXN-1", 1000, 0));
+        ledger.record(PaymentRecord.completed("order-1", "TXN-2", 1000, 0));
+
+        // 동시에 두 번 승인된 결제 중 한 건을 되돌린다
+        assertThat(ledger.refund("order-1", null, 1).refunded()).isEqualTo(1000);
+        assertThat(ledger.findByOrderId("order-1").status()).isEqualTo(PaymentRecord.COMPLETED);
+
+        PaymentLedger.Refund refund = ledger.refund("order-1", null, 2);
+        assertThat(refund.refunded()).isEqualTo(1000);
+        assertThat(refund.payment().transactionId()).isEqualTo("TXN-2");
+        assertThat(ledger.findByOrderId("order-1").status()).isEqualTo(PaymentRecord.REFUNDED);
+        assertThat(ledger.refund("order-1", null, 3).refunded()).isZero();
+    }
+
+    @Test
+    void reverseVoidsOnlyTheGivenTransaction() {
+        PaymentLedger ledger = new PaymentLedger();
+        ledger.record(PaymentRecord.completed("order-1", "TXN-1", 1000, 0));
+        ledger.record(PaymentRecord.completed("order-1", "TXN-2", 1000, 0));
+
+        ledger.reverse("TXN-2", 1);
+
+        assertThat(ledger.findByTransactionId("TXN-1").status()).isEqualTo(PaymentRecord.COMPLETED);
+        assertThat(ledger.findByTransactionId("TXN-2").status()).isEqualTo(PaymentRecord.REFUNDED);
+    }
+}
@@ -0,0 +1,143 @@
+package com.teno.hexagonal.adapter.outbound.payment;
+
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentUnavailableException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ResilientPaymentGatewayTest {
+
+    @Test
+    void tripsOnFailuresAndRecoversAfterOpenDuration() throws InterruptedException {
+        AtomicBoolean healthy = new AtomicBoolean(false);
+        PaymentGateway flaky = new StubGateway(() -> {
+            if (!healthy.get()) {
+                throw new RuntimeException("gateway down");
+            }
+        });
+
+        try (ResilientPaymentGateway gateway = new ResilientPaymentGateway(flaky, properties(Duration.ofSeconds(1)))) {
+            for (int i = 0; i < 5; i++) {
+                assertThatThrownBy(() -> gateway.processPayment("1", 1000)).hasMessage("gateway down");
+            }
+            assertThatThrownBy(() -> gateway.processPayment("1", 1000)).isInstanceOf(PaymentUnavailableException.class);
+            assertThat(gateway.metrics().circuitState()).isEqualTo("OPEN");
+
+            healthy.set(true);
+            Thread.sleep(120);
+            assertThat(gateway.processPayment("1", 1000)).containsEntry("success", true);
+            assertThat(gateway.metrics().circuitState()).isEqualTo("CLOSED");
+            assertThat(gateway.metrics().circuitTrips()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void callsStartedBeforeTheTripDoNotDecideTheHalfOpenTrial() throws InterruptedException {
+        Queue<CompletableFuture<Map<String, Object>>> responses = new ConcurrentLinkedQueue<>();
+        PaymentGateway gateway = new StubGateway(() -> {
+            throw new RuntimeException("gateway down");
+        });
+        PaymentGateway pending = new PaymentGateway() {
+            @Override
+            public Map<String, Object> processPayment(String orderId, int amount) {
+                return gateway.processPayment(orderId, amount);
+            }
+
+            @Override
+            public CompletableFuture<Map<String, Object>> processPaymentAsync(String orderId, int amount) {
+                CompletableFuture<Map<String, Object>> response = new CompletableFuture<>();
+                responses.add(response);
+                return response;
+            }
+
+            @Override
+            public Map<String, Object> refundPayment(String orderId) {
+                return Map.of();
+            }
+
+            @Override
+            public Map<String, Object> refundPayment(String orderId, int amount) {
+                return Map.of();
+            }
+
+            @Override
+            public String getPaymentStatus(String orderId) {
+                return "";
+            }
+        };
+
+        try (ResilientPaymentGateway resilient = new ResilientPaymentGateway(pending, properties(Duration.ofSeconds(5)))) {
+            CompletableFuture<Map<String, Object>> startedWhileClosed = resilient.processPaymentAsync("1", 1000);
+            for (int i = 0; i < 5; i++) {
+                assertThatThrownBy(() -> resilient.processPayment("2", 1000)).hasMessage("gateway down");
+            }
+            assertThat(resilient.metrics().circuitState()).isEqualTo("OPEN");
+
+            Thread.sleep(120);
+            CompletableFuture<Map<String, Object>> trial = resilient.processPaymentAsync("3", 1000);
+            assertThat(resilient.metrics().circuitState()).isEqualTo("HALF_OPEN");
+
+            responses.poll().complete(Map.of("success", true));
+            assertThat(startedWhileClosed).isCompleted();
+            assertThat(resilient.metrics().circuitState()).isEqualTo("HALF_OPEN");
+
+            responses.poll().complete(Map.of("success", true));
+            assertThat(trial).isCompleted();
+            assertThat(resilient.metrics().circuitState()).isEqualTo("CLOSED");
+        }
+    }
+
+    @Test
+    void enforcesDeadline() {
+        PaymentGateway slow = new StubGateway(() -> {
+            try {
+                Thread.sleep(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        try (ResilientPaymentGateway gateway = new ResilientPaymentGateway(slow, properties(Duration.ofMillis(50)))) {
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> gateway.processPayment("1", 1000)).hasMessageContaining("시간");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(500));
+            assertThat(gateway.metrics().timeouts()).isEqualTo(1);
+        }
+    }
+
+    private static ResilienceProperties properties(Duration timeout) {
+        return new ResilienceProperties(true, timeout, 10, 0.5, 5, 10, Duration.ofSeconds(1), Duration.ofMillis(100));
+    }
+
+    private record StubGateway(Runnable behavior) implements PaymentGateway {
+        @Override
+        public Map<String, Object> processPayment(String orderId, int amount) {
+            behavior.run();
+            return Map.of("success", true);
+        }
+
+        @Override
+        public Map<String, Object> refundPayment(String orderId) {
+            return Map.of();
+        }
+
+        @Override
+        public Map<String, Object> refundPayment(String orderId, int amount) {
+            return Map.of();
+        }
+
+        @Override
+        public String getPaymentStatus(String orderId) {
+            return "";
+        }
+    }
+}
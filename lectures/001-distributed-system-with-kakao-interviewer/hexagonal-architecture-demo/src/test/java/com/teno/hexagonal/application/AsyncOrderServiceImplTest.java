@@ -0,0 +1,71 @@
+package com.teno.hexagonal.application;
+
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.id.SnowflakeOrderIdGenerator;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGatewayProperties;
+import com.teno.hexagonal.adapter.outbound.payment.LatencyDistribution;
+import com.teno.hexagonal.application.metrics.OrderMetrics;
+import com.teno.hexagonal.domain.OrderErrorCode;
+import com.teno.hexagonal.domain.OrderException;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.inbound.OrderResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AsyncOrderServiceImplTest {
+    private static final int ORDERS = 1000;
+
+    private final InMemoryOrderRepository repository = new InMemoryOrderRepository();
+    private final FakePaymentGateway gateway = new FakePaymentGateway(new FakePaymentGatewayProperties(
+            LatencyDistribution.FIXED, Duration.ofMillis(200), 0.5, Duration.ZERO, 0, 0, 0,
+            Duration.ofSeconds(5), 0, 1000, 42L));
+    private final PaymentExecutor paymentExecutor = new PaymentExecutor(new PaymentExecutorProperties(16));
+    private final OrderServiceImpl orderService = new OrderServiceImpl(repository, gateway,
+            new SnowflakeOrderIdGenerator(0), paymentExecutor, event -> {
+    });
+    private final AsyncOrderServiceImpl asyncOrderService = new AsyncOrderServiceImpl(orderService, gateway,
+            paymentExecutor, new OrderMetrics());
+
+    @AfterEach
+    void tearDown() {
+        paymentExecutor.shutdown();
+    }
+
+    @Test
+    void paymentsInFlightDoNotHoldCallerThreads() {
+        List<String> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds.add(orderService.createOrder("user-" + i, "product-1", 1000).order().id());
+        }
+
+        long start = System.nanoTime();
+        List<CompletableFuture<OrderResult>> payments = orderIds.stream()
+                .map(asyncOrderService::processPayment)
+                .toList();
+        // 1000건을 한 스레드에서 요청해도 게이트웨이 지연(200ms)을 한 번만 기다린다
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(200));
+
+        CompletableFuture.allOf(payments.toArray(CompletableFuture[]::new)).join();
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(orderIds).allSatisfy(id -> assertThat(repository.findById(id).getStatus()).isEqualTo(OrderStatus.PAID));
+    }
+
+    @Test
+    void failuresCompleteTheFutureInsteadOfThrowing() {
+        CompletableFuture<OrderResult> missing = asyncOrderService.processPayment("missing");
+
+        assertThat(missing).failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(Exception.class)
+                .havingCause()
+                .isInstanceOfSatisfying(OrderException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(OrderErrorCode.ORDER_NOT_FOUND));
+    }
+}
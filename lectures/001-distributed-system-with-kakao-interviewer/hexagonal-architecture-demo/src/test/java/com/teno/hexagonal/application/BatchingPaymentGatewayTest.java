@@ -0,0 +1,152 @@
+package com.teno.hexagonal.application;
+
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import com.teno.hexagonal.port.outbound.PaymentRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BatchingPaymentGatewayTest {
+
+    @Test
+    void fullBatchesLeaveWithoutWaitingAndResultsGoToTheirCallers() {
+        StubGateway stub = new StubGateway(false);
+        try (BatchingPaymentGateway gateway = new BatchingPaymentGateway(stub,
+                new PaymentBatchProperties(true, 4, Duration.ofSeconds(10), Duration.ofSeconds(5)))) {
+            List<CompletableFuture<Map<String, Object>>> results = IntStream.range(0, 8)
+                    .mapToObj(i -> gateway.processPaymentAsync(Integer.toString(i), 1000))
+                    .toList();
+
+            for (int i = 0; i < results.size(); i++) {
+                assertThat(results.get(i)).succeedsWithin(Duration.ofSeconds(1))
+                        .isEqualTo(Map.of("success", true, "orderId", Integer.toString(i)));
+            }
+            assertThat(stub.batchSizes).containsExactly(4, 4);
+            assertThat(gateway.stats().fullBatches()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void partialBatchLeavesAfterMaxDelay() {
+        StubGateway stub = new StubGateway(false);
+        try (BatchingPaymentGateway gateway = new BatchingPaymentGateway(stub,
+                new PaymentBatchProperties(true, 100, Duration.ofMillis(20), Duration.ofSeconds(5)))) {
+            assertThat(gateway.processPayment("1", 1000)).containsEntry("orderId", "1");
+            assertThat(stub.batchSizes).containsExactly(1);
+        }
+    }
+
+    @Test
+    void failedBatchFailsEveryCaller() {
+        try (BatchingPaymentGateway gateway = new BatchingPaymentGateway(new StubGateway(true),
+                new PaymentBatchProperties(true, 2, Duration.ofSeconds(10), Duration.ofSeconds(5)))) {
+            CompletableFuture<Map<String, Object>> first = gateway.processPaymentAsync("1", 1000);
+            CompletableFuture<Map<String, Object>> second = gateway.processPaymentAsync("2", 1000);
+
+            assertThat(first).failsWithin(Duration.ofSeconds(1))
+                    .withThrowableOfType(ExecutionException.class).havingCause().withMessage("gateway down");
+            assertThat(second).failsWithin(Duration.ofSeconds(1))
+                    .withThrowableOfType(ExecutionException.class).havingCause().withMessage("gateway down");
+        }
+    }
+
+    @Test
+    void mismatchedResultCountFailsTheWholeBatch() {
+        StubGateway stub = new StubGateway(false) {
+            @Override
+            public List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+                return super.processPayments(requests).subList(0, 1);
+            }
+        };
+        try (BatchingPaymentGateway gateway = new BatchingPaymentGateway(stub,
+                new PaymentBatchProperties(true, 2, Duration.ofSeconds(10), Duration.ofSeconds(5)))) {
+            CompletableFuture<Map<String, Object>> first = gateway.processPaymentAsync("1", 1000);
+            CompletableFuture<Map<String, Object>> second = gateway.processPaymentAsync("2", 1000);
+
+            assertThat(first).failsWithin(Duration.ofSeconds(1))
+                    .withThrowableOfType(ExecutionException.class).havingCause().isInstanceOf(IllegalStateException.class);
+            assertThat(second).failsWithin(Duration.ofSeconds(1))
+                    .withThrowableOfType(ExecutionException.class).havingCause().isInstanceOf(IllegalStateException.class);
+        }
+    }
+
+    @Test
+    void callersStopWaitingWhenTheBatchNeverReturnsAndLateApprovalsAreRefunded() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        StubGateway stub = new StubGateway(false) {
+            @Override
+            public List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.processPayments(requests);
+            }
+        };
+        try (BatchingPaymentGateway gateway = new BatchingPaymentGateway(stub,
+                new PaymentBatchProperties(true, 1, Duration.ZERO, Duration.ofMillis(50)))) {
+            CompletableFuture<Map<String, Object>> result = gateway.processPaymentAsync("1", 1000);
+
+            assertThat(result).failsWithin(Duration.ofSeconds(1))
+                    .withThrowableOfType(ExecutionException.class).havingCause().isInstanceOf(TimeoutException.class);
+            release.countDown();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (stub.refunds.isEmpty() && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(stub.refunds).containsExactly("1");
+        }
+    }
+
+    private static class StubGateway implements PaymentGateway {
+        private final boolean failing;
+        final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        final List<String> refunds = new CopyOnWriteArrayList<>();
+
+        StubGateway(boolean failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public Map<String, Object> processPayment(String orderId, int amount) {
+            return Map.of("success", true, "orderId", orderId);
+        }
+
+        @Override
+        public List<Map<String, Object>> processPayments(List<PaymentRequest> requests) {
+            batchSizes.add(requests.size());
+            if (failing) {
+                throw new RuntimeException("gateway down");
+            }
+            return requests.stream().map(request -> processPayment(request.orderId(), request.amount())).toList();
+        }
+
+        @Override
+        public Map<String, Object> refundPayment(String orderId) {
+            refunds.add(orderId);
+            return Map.of();
+        }
+
+        @Override
+        public Map<String, Object> refundPayment(String orderId, int amount) {
+            return Map.of();
+        }
+
+        @Override
+        public String getPaymentStatus(String orderId) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.teno.hexagonal.application;
+
+import com.teno.hexagonal.adapter.outbound.database.InMemoryOrderRepository;
+import com.teno.hexagonal.adapter.outbound.id.SnowflakeOrderIdGenerator;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGateway;
+import com.teno.hexagonal.adapter.outbound.payment.FakePaymentGatewayProperties;
+import com.teno.hexagonal.adapter.outbound.payment.LatencyDistribution;
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderErrorCode;
+import com.teno.hexagonal.domain.OrderEvent;
+import com.teno.hexagonal.domain.OrderException;
+import com.teno.hexagonal.domain.OrderStatus;
+import com.teno.hexagonal.port.inbound.BatchItemResult;
+import com.teno.hexagonal.port.inbound.BatchOrderResult;
+import com.teno.hexagonal.port.inbound.CreateOrderCommand;
+import com.teno.hexagonal.port.inbound.PaymentStatusResult;
+import com.teno.hexagonal.port.inbound.RefundResult;
+import com.teno.hexagonal.port.outbound.PaymentGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderServiceImplTest {
+    private static final int ORDERS = 500;
+
+    private final InMemoryOrderRepository repository = new InMemoryOrderRepository();
+    private final FakePaymentGateway gateway = new FakePaymentGateway(new FakePaymentGatewayProperties(
+            LatencyDistribution.FIXED, Duration.ZERO, 0.5, Duration.ZERO, 0, 0, 0,
+            Duration.ofSeconds(5), 0, 1000, 42L));
+    private final PaymentExecutor paymentExecutor = new PaymentExecutor(new PaymentExecutorProperties(16));
+    private final OrderServiceImpl orderService = new OrderServiceImpl(repository, gateway,
+            new SnowflakeOrderIdGenerator(0), paymentExecutor, event -> {
+    });
+
+    @AfterEach
+    void tearDown() {
+        paymentExecutor.shutdown();
+    }
+
+    @Test
+    void concurrentPayAndCancelNeverBothSucceed() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < ORDERS; i++) {
+                String orderId = orderService.createOrder("user-" + i, "product-1", 1000).order().id();
+                CyclicBarrier start = new CyclicBarrier(2);
+                Future<Boolean> pay = executor.submit(() -> succeeds(start, () -> orderService.processPayment(orderId)));
+                Future<Boolean> cancel = executor.submit(() -> succeeds(start, () -> orderService.cancelOrder(orderId)));
+
+                boolean paid = pay.get();
+                boolean canceled = cancel.get();
+                Order order = repository.findById(orderId);
+
+                assertThat(paid ^ canceled).as("order %s", orderId).isTrue();
+                assertThat(order.getStatus()).isEqualTo(paid ? OrderStatus.PAID : OrderStatus.CANCELED);
+                if (canceled) {
+                    assertThat(gateway.getPaymentStatus(orderId)).isIn("NOT_FOUND", "REFUNDED");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedRefundAfterCancelRaceIsSurfacedAndRecorded() {
+        AtomicReference<OrderServiceImpl> service = new AtomicReference<>();
+        AtomicInteger refundAttempts = new AtomicInteger();
+        PaymentGateway gateway = new PaymentGateway() {
+            @Override
+            public Map<String, Object> processPayment(String orderId, int amount) {
+                // 승인을 기다리는 사이 주문이 취소된다
+                service.get().cancelOrder(orderId);
+                return Map.of("success", true, "transactionId", "TXN-1");
+            }
+
+            @Override
+            public Map<String, Object> refundPayment(String orderId) {
+                refundAttempts.incrementAndGet();
+                throw new RuntimeException("게이트웨이 장애");
+            }
+
+            @Override
+            public Map<String, Object> refundPayment(String orderId, int amount) {
+                return refundPayment(orderId);
+            }
+
+            @Override
+            public String getPaymentStatus(String orderId) {
+                return "COMPLETED";
+            }
+        };
+        service.set(new OrderServiceImpl(repository, gateway, new SnowflakeOrderIdGenerator(0), paymentExecutor,
+                event -> {
+                }));
+        String orderId = service.get().createOrder("user-1", "product-1", 1000).order().id();
+
+        assertThatThrownBy(() -> service.get().processPayment(orderId))
+                .isInstanceOfSatisfying(OrderException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(OrderErrorCode.REFUND_FAILED));
+        assertThat(refundAttempts).hasValue(OrderServiceImpl.MAX_REFUND_ATTEMPTS);
+        assertThat(repository.findById(orderId).getStatus()).isEqualTo(OrderStatus.CANCELED);
+        assertThat(service.get().unrefundedPayments()).containsEntry(orderId, "게이트웨이 장애");
+    }
+
+    @Test
+    void partialRefundKeepsOrderPaidUntilFullyRefunded() {
+        String orderId;
+        do {
+            orderId = orderService.createOrder("user-1", "product-1", 1000).order().id();
+        } while (!succeeds(orderService::processPayment, orderId));
+
+        RefundResult partial = orderService.refundOrder(orderId, 400);
+        assertThat(partial.refundableAmount()).isEqualTo(600);
+        assertThat(partial.orderStatus()).isEqualTo(OrderStatus.PAID.name());
+
+        RefundResult rest = orderService.refundOrder(orderId, null);
+        assertThat(rest.refundedAmount()).isEqualTo(600);
+        assertThat(rest.orderStatus()).isEqualTo(OrderStatus.REFUNDED.name());
+        assertThat(repository.findById(orderId).getStatus()).isEqualTo(OrderStatus.REFUNDED);
+
+        String refundedId = orderId;
+        assertThatThrownBy(() -> orderService.refundOrder(refundedId, null))
+                .isInstanceOfSatisfying(OrderException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(OrderErrorCode.INVALID_STATE));
+    }
+
+    @Test
+    void batchCreatesValidOrdersAndReportsInvalidOnesInRequestOrder() {
+        List<OrderEvent> events = new ArrayList<>();
+        OrderServiceImpl service = new OrderServiceImpl(repository, gateway, new SnowflakeOrderIdGenerator(0),
+                paymentExecutor, events::add);
+        List<CreateOrderCommand> commands = Arrays.asList(
+                new CreateOrderCommand("user-a", "product-1", 1000),
+                null,
+                new CreateOrderCommand("user-a", "product-2", 0),
+                new CreateOrderCommand(null, "product-3", 1000),
+                new CreateOrderCommand("user-b", "product-4", 4000));
+
+        BatchOrderResult result = service.createOrders(commands);
+
+        assertThat(result.success()).isFalse();
+        assertThat(result.created()).isEqualTo(2);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.results()).extracting(BatchItemResult::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(result.results()).extracting(BatchItemResult::success)
+                .containsExactly(true, false, false, false, true);
+        assertThat(result.results().get(1).error()).isNotBlank();
+        assertThat(result.results().get(4).order().productId()).isEqualTo("product-4");
+
+        List<String> createdIds = List.of(result.results().get(0).order().id(), result.results().get(4).order().id());
+        assertThat(repository.findAll()).extracting(Order::getId).containsExactlyInAnyOrderElementsOf(createdIds);
+        assertThat(repository.findByUserId("user-a", 10)).extracting(Order::getId).containsExactly(createdIds.get(0));
+        assertThat(repository.findByUserId("user-b", 10)).extracting(Order::getId).containsExactly(createdIds.get(1));
+        assertThat(repository.findByStatus(OrderStatus.PENDING, 10)).hasSize(2);
+        assertThat(events).extracting(OrderEvent::orderId).containsExactlyElementsOf(createdIds);
+    }
+
+    @Test
+    void batchWithNothingValidSavesNothing() {
+        BatchOrderResult result = orderService.createOrders(List.of(new CreateOrderCommand("user-a", null, 1000)));
+
+        assertThat(result.created()).isZero();
+        assertThat(result.results()).extracting(BatchItemResult::success).containsExactly(false);
+        assertThat(repository.findAll()).isEmpty();
+    }
+
+    @Test
+    void rejectsEmptyAndOversizedBatches() {
+        List<CreateOrderCommand> oversized = Collections.nCopies(OrderServiceImpl.MAX_BATCH_SIZE + 1,
+                new CreateOrderCommand("user-a", "product-1", 1000));
+
+        assertThatThrownBy(() -> orderService.createOrders(List.of()))
+                .isInstanceOfSatisfying(OrderException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(OrderErrorCode.INVALID_REQUEST));
+        assertThatThrownBy(() -> orderService.createOrders(oversized))
+                .isInstanceOfSatisfying(OrderException.class,
+                        e -> assertThat(e.getCode()).isEqualTo(OrderErrorCode.INVALID_REQUEST));
+        assertThat(repository.findAll()).isEmpty();
+    }
+
+    @Test
+    void submittedPaymentReportsProcessingUntilTheGatewayAnswers() throws InterruptedException {
+        GatedGateway gateway = new GatedGateway();
+        OrderServiceImpl service = new OrderServiceImpl(repository, gateway, new SnowflakeOrderIdGenerator(0),
+                paymentExecutor, event -> {
+        });
+        String orderId = service.createOrder("user-1", "product-1", 1000).order().id();
+
+        assertThat(service.submitPayment(orderId).order().status()).isEqualTo(PaymentStatusResult.PROCESSING);
+        assertThat(service.getPaymentStatus(orderId).status()).isEqualTo(PaymentStatusResult.PROCESSING);
+        assertThatThrownBy(() -> service.submitPayment(orderId)).isSameAs(OrderException.PAYMENT_IN_PROGRESS);
+
+        gateway.release.countDown();
+        awaitStatus(service, orderId, OrderStatus.PAID.name());
+        assertThat(gateway.calls).hasValue(1);
+    }
+
+    @Test
+    void submittedPaymentsNeverExceedTheConcurrencyLimit() throws InterruptedException {
+        GatedGateway gateway = new GatedGateway();
+        PaymentExecutor limited = new PaymentExecutor(new PaymentExecutorProperties(2));
+        try {
+            OrderServiceImpl service = new OrderServiceImpl(repository, gateway, new SnowflakeOrderIdGenerator(0),
+                    limited, event -> {
+            });
+            List<String> orderIds = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                String orderId = service.createOrder("user-" + i, "product-1", 1000).order().id();
+                service.submitPayment(orderId);
+                orderIds.add(orderId);
+            }
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (gateway.active.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            // 나머지 네 건은 허가를 기다리므로 게이트웨이에 닿지 않는다
+            Thread.sleep(50);
+            assertThat(gateway.calls).hasValue(2);
+
+            gateway.release.countDown();
+            for (String orderId : orderIds) {
+                awaitStatus(service, orderId, OrderStatus.PAID.name());
+            }
+            assertThat(gateway.maxActive).hasValue(2);
+        } finally {
+            limited.shutdown();
+        }
+    }
+
+    private static void awaitStatus(OrderServiceImpl service, String orderId, String status) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!service.getPaymentStatus(orderId).status().equals(status) && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(service.getPaymentStatus(orderId).status()).as("order %s", orderId).isEqualTo(status);
+    }
+
+    // release 가 열릴 때까지 승인을 붙잡아 두고, 동시에 들어온 호출 수를 센다
+    private static class GatedGateway implements PaymentGateway {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger calls = new AtomicInteger();
+        final AtomicInteger active = new AtomicInteger();
+        final AtomicInteger maxActive = new AtomicInteger();
+
+        @Override
+        public Map<String, Object> processPayment(String orderId, int amount) {
+            calls.incrementAndGet();
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            } finally {
+                active.decrementAndGet();
+            }
+            return Map.of("success", true, "transactionId", "TXN-" + orderId);
+        }
+
+        @Override
+        public Map<String, Object> refundPayment(String orderId) {
+            return Map.of("success", true);
+        }
+
+        @Override
+        public Map<String, Object> refundPayment(String orderId, int amount) {
+            return Map.of("success", true);
+        }
+
+        @Override
+        public String getPaymentStatus(String orderId) {
+            return "COMPLETED";
+        }
+    }
+
+    private static boolean succeeds(Consumer<String> action, String orderId) {
+        try {
+            action.accept(orderId);
+            return true;
+        } catch (OrderException e) {
+            return false;
+        }
+    }
+
+    private static boolean succeeds(CyclicBarrier start, Runnable action) throws Exception {
+        start.await();
+        try {
+            action.run();
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.teno.hexagonal.application.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsKeepValuesWithinSixPercent() {
+        for (long value = 1; value < 1L << 40; value = value * 3 + 1) {
+            long highest = LatencyHistogram.highestValue(LatencyHistogram.index(value));
+            assertThat(highest).isGreaterThanOrEqualTo(value);
+            assertThat((double) highest - value).isLessThanOrEqualTo(value / 16.0);
+        }
+    }
+
+    @Test
+    void reportsPercentilesCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1_000; i++) {
+            histogram.record(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        LatencySnapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(1_000);
+        assertThat(snapshot.p50Micros()).isCloseTo(500, within(32L));
+        assertThat(snapshot.p99Micros()).isCloseTo(990, within(64L));
+        assertThat(snapshot.maxMicros()).isEqualTo(1_000);
+    }
+}
@@ -0,0 +1,62 @@
+package com.teno.hexagonal.application.statistics;
+
+import com.teno.hexagonal.domain.Order;
+import com.teno.hexagonal.domain.OrderEvent;
+import com.teno.hexagonal.domain.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatisticsTest {
+
+    @Test
+    void followsOrderLifecycleIncrementally() {
+        Order restored = Order.restore("0", "user-1", "product-b", 500, OrderStatus.PAID, 0, 0, null);
+        try (OrderStatistics statistics = new OrderStatistics(List.of(restored),
+                new OrderStatisticsProperties(1, Duration.ofHours(1)))) {
+            Order paid = new Order("1", "user-1", "product-a", 1000);
+            Order failedThenCanceled = new Order("2", "user-2", "product-a", 2000);
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.CREATED, paid), false);
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.CREATED, failedThenCanceled), false);
+            paid.markAsPaid();
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.PAID, OrderStatus.PENDING, paid), false);
+            failedThenCanceled.markAsFailed("한도 초과");
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.FAILED, OrderStatus.PENDING, failedThenCanceled), false);
+            failedThenCanceled.cancel();
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.CANCELED, OrderStatus.FAILED, failedThenCanceled), true);
+            statistics.refresh();
+
+            StatisticsSnapshot summary = statistics.summary();
+            assertThat(summary.orders()).isEqualTo(3);
+            assertThat(summary.revenue()).isEqualTo(1500);
+            assertThat(summary.byStatus()).containsEntry(OrderStatus.PAID, 2L)
+                    .containsEntry(OrderStatus.PENDING, 0L)
+                    .containsEntry(OrderStatus.FAILED, 0L)
+                    .containsEntry(OrderStatus.CANCELED, 1L);
+            assertThat(summary.topProducts()).extracting(GroupStatistics::key).containsExactly("product-a");
+            assertThat(statistics.product("product-a")).isEqualTo(new GroupStatistics("product-a", 2, 1, 1000));
+            assertThat(statistics.user("user-1")).isEqualTo(new GroupStatistics("user-1", 2, 2, 1500));
+        }
+    }
+
+    @Test
+    void doubleCancelDoesNotMoveCountsTwice() {
+        try (OrderStatistics statistics = new OrderStatistics(List.of(),
+                new OrderStatisticsProperties(1, Duration.ofHours(1)))) {
+            Order pending = new Order("1", "user-1", "product-a", 1000);
+            Order canceled = new Order("2", "user-1", "product-a", 1000);
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.CREATED, pending), false);
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.CREATED, canceled), false);
+            canceled.cancel();
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.CANCELED, OrderStatus.PENDING, canceled), false);
+            statistics.onEvent(OrderEvent.of(OrderEvent.Type.CANCELED, OrderStatus.CANCELED, canceled), true);
+            statistics.refresh();
+
+            assertThat(statistics.summary().byStatus()).containsEntry(OrderStatus.PENDING, 1L)
+                    .containsEntry(OrderStatus.CANCELED, 1L);
+        }
+    }
+}